@@ -0,0 +1,37 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A command that completes later, such as one waiting on a database or a remote service.
+ *
+ * <p>When executed through {@link CommandDispatcher#executeAsync(ParseResults)}, the returned future is composed
+ * into the rest of the execution instead of being waited on. A future completing exceptionally with a
+ * {@link CommandSyntaxException} counts as a failure of the command, just like throwing it from {@link #run}.</p>
+ *
+ * <p>Through the synchronous {@link CommandDispatcher#execute(ParseResults)}, the calling thread blocks until the
+ * future completes.</p>
+ */
+@FunctionalInterface
+public interface AsyncCommand<S> extends Command<S> {
+    CompletableFuture<Integer> runAsync(CommandContext<S> context) throws CommandSyntaxException;
+
+    @Override
+    default int run(final CommandContext<S> context) throws CommandSyntaxException {
+        try {
+            return runAsync(context).join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof CommandSyntaxException) {
+                throw (CommandSyntaxException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * The outcome of every command in a batch, in the order they were given.
+ *
+ * @see CommandDispatcher#executeBatch(java.util.List)
+ */
+public class BatchResults {
+    private final int[] results;
+    private final CommandSyntaxException[] errors;
+    private final int failures;
+
+    public BatchResults(final int[] results, final CommandSyntaxException[] errors) {
+        if (results.length != errors.length) {
+            throw new IllegalArgumentException("Results and errors must have the same size");
+        }
+        this.results = results;
+        this.errors = errors;
+        int failures = 0;
+        for (final CommandSyntaxException error : errors) {
+            if (error != null) {
+                failures++;
+            }
+        }
+        this.failures = failures;
+    }
+
+    public int size() {
+        return results.length;
+    }
+
+    public boolean isSuccess(final int index) {
+        return errors[index] == null;
+    }
+
+    /**
+     * @param index the position of the command in the batch
+     * @return the result of the command, or 0 if it failed
+     */
+    public int getResult(final int index) {
+        return results[index];
+    }
+
+    /**
+     * @param index the position of the command in the batch
+     * @return why the command failed to parse or execute, or {@code null} if it succeeded
+     */
+    public CommandSyntaxException getError(final int index) {
+        return errors[index];
+    }
+
+    public int getSuccessCount() {
+        return results.length - failures;
+    }
+
+    public int getFailureCount() {
+        return failures;
+    }
+}
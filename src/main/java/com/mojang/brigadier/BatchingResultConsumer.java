@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link ResultConsumer} collecting completed commands into batches, for listeners that are expensive to call.
+ *
+ * <p>A batch is handed over once it's full, and otherwise whenever {@link #flush()} is called. When set as the consumer
+ * of a {@link CommandDispatcher}, that happens at the end of every stage of a command or at the end of every execute,
+ * depending on the {@link FlushMode}. Given an executor, full batches are handed over on it instead of the executing
+ * thread, and a new batch is started in the meantime.</p>
+ */
+public class BatchingResultConsumer<S> implements ResultConsumer<S> {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final BatchListener<S> listener;
+    private final FlushMode flushMode;
+    private final int capacity;
+    private final Executor executor;
+    private ResultBatch<S> batch;
+
+    public BatchingResultConsumer(final BatchListener<S> listener, final FlushMode flushMode, final int capacity, final Executor executor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.listener = listener;
+        this.flushMode = flushMode;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.batch = new ResultBatch<>(capacity);
+    }
+
+    public BatchingResultConsumer(final BatchListener<S> listener, final FlushMode flushMode) {
+        this(listener, flushMode, DEFAULT_CAPACITY, null);
+    }
+
+    @Override
+    public synchronized void onCommandComplete(final CommandContext<S> context, final boolean success, final int result) {
+        batch.add(context, success, result);
+        if (batch.isFull()) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onStageComplete() {
+        if (flushMode == FlushMode.PER_STAGE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onExecuteComplete() {
+        flush();
+    }
+
+    public synchronized void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (executor == null) {
+            try {
+                listener.onBatch(batch);
+            } finally {
+                batch.clear();
+            }
+        } else {
+            final ResultBatch<S> full = batch;
+            batch = new ResultBatch<>(capacity);
+            executor.execute(() -> listener.onBatch(full));
+        }
+    }
+
+    public enum FlushMode {
+        PER_STAGE,
+        PER_EXECUTE,
+    }
+
+    /**
+     * Receives full or flushed batches. Without an executor, the batch is reused once this returns.
+     */
+    @FunctionalInterface
+    public interface BatchListener<S> {
+        void onBatch(ResultBatch<S> batch);
+    }
+}
@@ -7,25 +7,34 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.context.CommandContextBuilder;
 import com.mojang.brigadier.context.ContextChain;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.context.ResultOverflowPolicy;
+import com.mojang.brigadier.context.ResumableExecution;
 import com.mojang.brigadier.context.SuggestionContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.jfr.CommandEvents;
+import com.mojang.brigadier.metrics.CommandMetrics;
+import com.mojang.brigadier.suggestion.SuggestionCache;
+import com.mojang.brigadier.suggestion.SuggestionSnapshot;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.FuzzySuggestionIndex;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -66,6 +75,14 @@ public class CommandDispatcher<S> {
     };
     private ResultConsumer<S> consumer = (c, s, r) -> {
     };
+    private SuggestionCache<S> suggestionCache = null;
+    private boolean fuzzySuggestions = false;
+    private Executor forkExecutor = null;
+    private boolean forkPerSource = false;
+    private boolean depthFirstExecution = false;
+    private ResultOverflowPolicy resultOverflowPolicy = ResultOverflowPolicy.WRAP;
+    private CommandMetrics<S> metrics = null;
+    private SlowCommandLog<S> slowCommandLog = null;
 
     /**
      * Create a new {@link CommandDispatcher} with the specified root node.
@@ -101,15 +118,156 @@ public class CommandDispatcher<S> {
         return build;
     }
 
+    /**
+     * Utility method for registering many new commands at once, such as every command of a plugin.
+     *
+     * <p>This is equivalent to calling {@link #register(LiteralArgumentBuilder)} for each command in turn, but builds
+     * them all before adding them together through {@link CommandNode#addChildren(Collection)}, so that the root only
+     * has to make room for them once.</p>
+     *
+     * @param commands the literal argument builders to add to this command tree
+     * @return the nodes added to this tree, in the same order as {@code commands}
+     */
+    public List<LiteralCommandNode<S>> registerAll(final Collection<LiteralArgumentBuilder<S>> commands) {
+        final List<LiteralCommandNode<S>> result = new ArrayList<>(commands.size());
+        for (final LiteralArgumentBuilder<S> command : commands) {
+            result.add(command.build());
+        }
+        root.addChildren(result);
+        return result;
+    }
+
     /**
      * Sets a callback to be informed of the result of every command.
      *
+     * <p>Besides every command, the consumer is told when each stage and each execution completes, which a
+     * {@link BatchingResultConsumer} uses to flush depending on its mode.</p>
+     *
      * @param consumer the new result consumer to be called
      */
     public void setConsumer(final ResultConsumer<S> consumer) {
         this.consumer = consumer;
     }
 
+    /**
+     * Sets an executor to run large forks on.
+     *
+     * <p>When a command forks to at least {@link ContextChain#PARALLEL_THRESHOLD} sources, the work for each source in
+     * that stage and every following stage is split across the executor, such as a {@link java.util.concurrent.ForkJoinPool}.
+     * Sources keep their order, and the result consumer is still only called from the executing thread, in the same
+     * order as without an executor. Commands and modifiers that run in forks must be safe to call concurrently.</p>
+     *
+     * <p>The calling thread works through the stage too, and only ever waits for work that has already started, so a
+     * command may execute another large fork on the same dispatcher even with a bounded executor. If a command or
+     * modifier throws, sources after it that haven't started yet are skipped, but any already running on other
+     * threads still finish, so unlike a sequential run some commands after the failing one may have had their side
+     * effects. Their results aren't reported to the result consumer.</p>
+     *
+     * @param forkExecutor the executor to use, or {@code null} to always execute on the calling thread
+     */
+    public void setForkExecutor(final Executor forkExecutor) {
+        setForkExecutor(forkExecutor, false);
+    }
+
+    /**
+     * Sets an executor to run forks on, optionally with a separate task for every forked source.
+     *
+     * <p>Running every source separately suits commands that block, such as on I/O, together with an executor that
+     * can afford a thread per task, like one from {@link VirtualThreads#newExecutor()}. Forks of any size then run
+     * concurrently, rather than only those reaching {@link ContextChain#PARALLEL_THRESHOLD} sources.</p>
+     *
+     * @param forkExecutor the executor to use, or {@code null} to always execute on the calling thread
+     * @param perSource whether every forked source should run as its own task
+     * @see #setForkExecutor(Executor)
+     */
+    public void setForkExecutor(final Executor forkExecutor, final boolean perSource) {
+        this.forkExecutor = forkExecutor;
+        this.forkPerSource = perSource;
+    }
+
+    /**
+     * Sets whether commands should execute depth-first.
+     *
+     * <p>By default every stage of a redirected command runs for all of its sources before the next stage starts,
+     * which needs every stage collected in full. Depth-first execution instead runs each source through the rest of the
+     * command before moving on, pairing with {@link StreamingRedirectModifier} to keep memory bounded by the length of
+     * the command rather than how far it fans out. Results are the same, but commands run and are reported to the
+     * result consumer in a different order. The fork executor is not used in this mode.</p>
+     *
+     * @param depthFirstExecution whether to execute depth-first
+     * @see ContextChain#executeAllDepthFirst(Object, ResultConsumer)
+     */
+    public void setDepthFirstExecution(final boolean depthFirstExecution) {
+        this.depthFirstExecution = depthFirstExecution;
+    }
+
+    /**
+     * Sets what happens when the results of a command run for many sources add up to more than fits an {@code int}.
+     *
+     * <p>This only matters for redirects without forking, as a forked command returns how many sources succeeded.
+     * Defaults to {@link ResultOverflowPolicy#WRAP}, the behavior of adding up {@code int}s.</p>
+     *
+     * @param resultOverflowPolicy the policy to use
+     */
+    public void setResultOverflowPolicy(final ResultOverflowPolicy resultOverflowPolicy) {
+        this.resultOverflowPolicy = resultOverflowPolicy;
+    }
+
+    /**
+     * Sets where to record measurements of every node parsed and executed, such as a
+     * {@link com.mojang.brigadier.metrics.CommandMetricsRecorder}.
+     *
+     * <p>Parse attempts are recorded for every child tried by {@link #parse(StringReader, Object)}, and redirects and
+     * executions for every source they run for. Nothing is measured, and no time is taken, while no metrics are set.
+     * Commands already {@link #prepare(ParseResults) prepared} keep the metrics set when they were prepared.</p>
+     *
+     * @param metrics the metrics to record to, or {@code null} to stop recording
+     */
+    public void setMetrics(final CommandMetrics<S> metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets where to report commands that were slow to parse, suggest or execute.
+     *
+     * <p>Phases are only timed while the log has a threshold set for them. When a command is executed straight from
+     * its input, with {@link #execute(String, Object)}, the time taken to parse it is reported along with the execution.</p>
+     *
+     * @param slowCommandLog the log to report to, or {@code null} to stop timing
+     */
+    public void setSlowCommandLog(final SlowCommandLog<S> slowCommandLog) {
+        this.slowCommandLog = slowCommandLog;
+    }
+
+    /**
+     * Sets a cache to share the results of {@link #getCompletionSuggestions(ParseResults, int)} between requests.
+     *
+     * <p>Results are only cached for nodes whose children all report {@link CommandNode#isSuggestionCacheable()},
+     * and are keyed by the parent node, the start of the suggested argument and the remaining input after it.
+     * Adding children to a cached node invalidates its entries. Cached {@link Suggestions} are shared and must not be modified.</p>
+     *
+     * @param suggestionCache the cache to use, or {@code null} to disable caching
+     */
+    public void setSuggestionCache(final SuggestionCache<S> suggestionCache) {
+        this.suggestionCache = suggestionCache;
+    }
+
+    /**
+     * Sets whether literal suggestions use fuzzy matching instead of plain prefix matching.
+     *
+     * <p>In fuzzy mode a literal is suggested if the typed input is a subsequence of it, ignoring case, so {@code gm}
+     * suggests {@code gamemode}. Literals are pruned using a {@link FuzzySuggestionIndex} kept on each parent node, and the
+     * merged suggestions are ranked by how well they match rather than alphabetically, with prefix matches first.</p>
+     *
+     * @param fuzzySuggestions true to enable fuzzy matching
+     */
+    public void setFuzzySuggestions(final boolean fuzzySuggestions) {
+        this.fuzzySuggestions = fuzzySuggestions;
+        if (suggestionCache != null) {
+            suggestionCache.clear();
+        }
+    }
+
     /**
      * Parses and executes a given command.
      *
@@ -175,8 +333,15 @@ public class CommandDispatcher<S> {
      * @see #execute(String, Object)
      */
     public int execute(final StringReader input, final S source) throws CommandSyntaxException {
+        final SlowCommandLog<S> slowCommandLog = this.slowCommandLog;
+        if (slowCommandLog == null || !slowCommandLog.isEnabled(SlowCommandLog.Phase.EXECUTE)) {
+            return execute(parse(input, source));
+        }
+        final long startTime = System.nanoTime();
         final ParseResults<S> parse = parse(input, source);
-        return execute(parse);
+        final long parseNanos = System.nanoTime() - startTime;
+        final ContextChain<S> chain = flatten(parse);
+        return execute(chain, chain.getTopContext().getSource(), parseNanos);
     }
 
     /**
@@ -206,6 +371,195 @@ public class CommandDispatcher<S> {
      * @see #execute(StringReader, Object)
      */
     public int execute(final ParseResults<S> parse) throws CommandSyntaxException {
+        final ContextChain<S> chain = flatten(parse);
+        return execute(chain, chain.getTopContext().getSource());
+    }
+
+    int execute(final ContextChain<S> chain, final S source) throws CommandSyntaxException {
+        return execute(chain, source, -1);
+    }
+
+    private int execute(final ContextChain<S> chain, final S source, final long parseNanos) throws CommandSyntaxException {
+        final Object event = CommandEvents.beginExecute();
+        final SlowCommandLog<S> slowCommandLog = this.slowCommandLog;
+        final boolean timed = slowCommandLog != null && slowCommandLog.isEnabled(SlowCommandLog.Phase.EXECUTE);
+        final long startTime = timed ? System.nanoTime() : 0;
+        int result = 0;
+        boolean failed = true;
+        try {
+            if (depthFirstExecution) {
+                result = chain.executeAllDepthFirst(source, consumer, resultOverflowPolicy);
+            } else {
+                result = chain.executeAll(source, consumer, forkExecutor, forkPerSource, resultOverflowPolicy);
+            }
+            failed = false;
+            return result;
+        } finally {
+            consumer.onExecuteComplete();
+            if (event != null) {
+                CommandEvents.commitExecute(event, chain.getTopContext(), result, failed);
+            }
+            if (timed) {
+                final long nanos = System.nanoTime() - startTime;
+                if (slowCommandLog.exceeds(SlowCommandLog.Phase.EXECUTE, nanos)) {
+                    final CommandContext<S> context = chain.getTopContext();
+                    slowCommandLog.report(SlowCommandLog.Phase.EXECUTE, context.getInput(), parsedNodes(context), source, parseNanos, -1, nanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prepares a given pre-parsed command to be executed many times, with any source.
+     *
+     * <p>This is useful for commands that run often with different sources, such as from command blocks or scheduled
+     * functions. The command is validated and flattened once, instead of on every {@link #execute(ParseResults)}.</p>
+     *
+     * @param parse the result of a successful {@link #parse(StringReader, Object)}
+     * @return a command that can be executed with {@link PreparedCommand#execute(Object)}
+     * @throws CommandSyntaxException if the command failed to parse
+     * @see PreparedCommand
+     */
+    public PreparedCommand<S> prepare(final ParseResults<S> parse) throws CommandSyntaxException {
+        return new PreparedCommand<>(this, flatten(parse));
+    }
+
+    /**
+     * Parses many commands for the same source at once, such as the lines of a function.
+     *
+     * <p>Identical inputs are only parsed once, sharing their {@link ParseResults}. With an executor, distinct inputs
+     * are parsed concurrently; the command tree must not be modified meanwhile.</p>
+     *
+     * @param inputs the commands to parse
+     * @param source a custom "source" object, usually representing the originator of these commands
+     * @param executor the executor to parse on, or {@code null} to parse on the calling thread
+     * @return the result of parsing each input, in the same order
+     * @see #parse(String, Object)
+     * @see #executeBatch(List)
+     */
+    public List<ParseResults<S>> parseBatch(final List<String> inputs, final S source, final Executor executor) {
+        final Map<String, CompletableFuture<ParseResults<S>>> parsed = new HashMap<>();
+        final List<CompletableFuture<ParseResults<S>>> futures = new ArrayList<>(inputs.size());
+        for (final String input : inputs) {
+            futures.add(parsed.computeIfAbsent(input, command -> executor == null
+                ? CompletableFuture.completedFuture(parse(command, source))
+                : CompletableFuture.supplyAsync(() -> parse(command, source), executor)));
+        }
+
+        final List<ParseResults<S>> result = new ArrayList<>(futures.size());
+        for (final CompletableFuture<ParseResults<S>> future : futures) {
+            result.add(future.join());
+        }
+        return result;
+    }
+
+    /**
+     * Parses and executes many commands for the same source, in order.
+     *
+     * <p>This is a shortcut to {@link #parseBatch(List, Object, Executor)} on the calling thread, followed by
+     * {@link #executeBatch(List)}.</p>
+     *
+     * @param inputs the commands to parse &amp; execute
+     * @param source a custom "source" object, usually representing the originator of these commands
+     * @return the result or failure of each command, in the same order
+     */
+    public BatchResults executeBatch(final List<String> inputs, final S source) {
+        return executeBatch(parseBatch(inputs, source, null));
+    }
+
+    /**
+     * Executes many pre-parsed commands, in order.
+     *
+     * <p>Each command runs as with {@link #execute(ParseResults)}, but a {@link CommandSyntaxException} from parsing or
+     * executing one is recorded in the results rather than thrown, and the following commands still run. A
+     * {@link RuntimeException} still stops the batch.</p>
+     *
+     * @param parses the results of {@link #parse(StringReader, Object)} or {@link #parseBatch(List, Object, Executor)}
+     * @return the result or failure of each command, in the same order
+     */
+    public BatchResults executeBatch(final List<ParseResults<S>> parses) {
+        final int[] results = new int[parses.size()];
+        final CommandSyntaxException[] errors = new CommandSyntaxException[parses.size()];
+        for (int i = 0; i < results.length; i++) {
+            try {
+                results[i] = execute(parses.get(i));
+            } catch (final CommandSyntaxException ex) {
+                errors[i] = ex;
+            }
+        }
+        return new BatchResults(results, errors);
+    }
+
+    /**
+     * Executes a given pre-parsed command on the given executor, such as one from {@link VirtualThreads#newExecutor()}.
+     *
+     * <p>This runs {@link #execute(ParseResults)} as a single task, so that commands may block without holding up the
+     * calling thread. Any failure, including a {@link CommandSyntaxException}, completes the returned future exceptionally.</p>
+     *
+     * @param parse the result of a successful {@link #parse(StringReader, Object)}
+     * @param executor the executor to run the command on
+     * @return a future of the numeric result from a "command" that was performed
+     * @see #execute(ParseResults)
+     */
+    public CompletableFuture<Integer> executeAsync(final ParseResults<S> parse, final Executor executor) {
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(execute(parse));
+            } catch (final Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Executes a given pre-parsed command, without waiting on any {@link AsyncCommand} it runs.
+     *
+     * <p>This behaves like {@link #execute(ParseResults)}, except that any failure completes the returned future
+     * exceptionally instead of being thrown. Redirect modifiers and plain {@link Command}s still run on the calling
+     * thread before this method returns; only the completion of an {@link AsyncCommand} is waited on asynchronously.</p>
+     *
+     * <p>The callback given to {@link #setConsumer(ResultConsumer)} is notified as each command completes, on the thread
+     * that completed it.</p>
+     *
+     * @param parse the result of a successful {@link #parse(StringReader, Object)}
+     * @return a future of the numeric result from a "command" that was performed
+     * @see #execute(ParseResults)
+     * @see ContextChain#executeAllAsync(Object, ResultConsumer)
+     */
+    public CompletableFuture<Integer> executeAsync(final ParseResults<S> parse) {
+        final ContextChain<S> chain;
+        try {
+            chain = flatten(parse);
+        } catch (final CommandSyntaxException ex) {
+            final CompletableFuture<Integer> result = new CompletableFuture<>();
+            result.completeExceptionally(ex);
+            return result;
+        }
+        return chain.executeAllAsync(chain.getTopContext().getSource(), consumer, resultOverflowPolicy).whenComplete((result, throwable) -> consumer.onExecuteComplete());
+    }
+
+    /**
+     * Starts executing a given pre-parsed command, without running anything yet.
+     *
+     * <p>The returned execution can be run a slice at a time, such as a limited amount of work per server tick, and
+     * once finished gives the same result as {@link #execute(ParseResults)}, including the policy given to
+     * {@link #setResultOverflowPolicy(ResultOverflowPolicy)}. It always runs breadth-first on the calling thread though,
+     * ignoring {@link #setDepthFirstExecution(boolean)} and {@link #setForkExecutor(Executor)}. The callback given to
+     * {@link #setConsumer(ResultConsumer)} is notified as each command runs.</p>
+     *
+     * @param parse the result of a successful {@link #parse(StringReader, Object)}
+     * @return an execution to run with {@link ResumableExecution#run(int, long)}
+     * @throws CommandSyntaxException if the command failed to parse
+     * @see #execute(ParseResults)
+     */
+    public ResumableExecution<S> startExecution(final ParseResults<S> parse) throws CommandSyntaxException {
+        final ContextChain<S> chain = flatten(parse);
+        return chain.startExecution(chain.getTopContext().getSource(), consumer, resultOverflowPolicy);
+    }
+
+    private ContextChain<S> flatten(final ParseResults<S> parse) throws CommandSyntaxException {
         if (parse.getReader().canRead()) {
             if (parse.getExceptions().size() == 1) {
                 throw parse.getExceptions().values().iterator().next();
@@ -219,13 +573,14 @@ public class CommandDispatcher<S> {
         final String command = parse.getReader().getString();
         final CommandContext<S> original = parse.getContext().build(command);
 
-        final Optional<ContextChain<S>> flatContext = ContextChain.tryFlatten(original);
+        final Optional<ContextChain<S>> flatContext = ContextChain.tryFlatten(original, metrics);
         if (!flatContext.isPresent()) {
             consumer.onCommandComplete(original, false, 0);
+            consumer.onExecuteComplete();
             throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand().createWithContext(parse.getReader());
         }
 
-        return flatContext.get().executeAll(original.getSource(), consumer);
+        return flatContext.get();
     }
 
     /**
@@ -287,15 +642,64 @@ public class CommandDispatcher<S> {
      * @see #execute(String, Object)
      */
     public ParseResults<S> parse(final StringReader command, final S source) {
+        return parse(command, source, null);
+    }
+
+    /**
+     * Parses a given command, reporting every branch tried to an observer.
+     *
+     * <p>This behaves like {@link #parse(String, Object)}, and is meant for diagnosing commands that are slow to parse,
+     * for example with a {@link com.mojang.brigadier.trace.ParseTrace}.</p>
+     *
+     * @param command a command string to parse
+     * @param source a custom "source" object, usually representing the originator of this command
+     * @param observer told about every node tried, or {@code null}
+     * @return the result of parsing this command
+     * @see #parse(StringReader, Object, ParseObserver)
+     */
+    public ParseResults<S> parse(final String command, final S source, final ParseObserver<S> observer) {
+        return parse(new StringReader(command), source, observer);
+    }
+
+    /**
+     * Parses a given command, reporting every branch tried to an observer.
+     *
+     * <p>This behaves like {@link #parse(StringReader, Object)}, and is meant for diagnosing commands that are slow to
+     * parse, for example with a {@link com.mojang.brigadier.trace.ParseTrace}.</p>
+     *
+     * @param command a command string to parse
+     * @param source a custom "source" object, usually representing the originator of this command
+     * @param observer told about every node tried, or {@code null}
+     * @return the result of parsing this command
+     * @see #parse(String, Object, ParseObserver)
+     */
+    public ParseResults<S> parse(final StringReader command, final S source, final ParseObserver<S> observer) {
         final CommandContextBuilder<S> context = new CommandContextBuilder<>(this, source, root, command.getCursor());
-        return parseNodes(root, command, context);
+        final CommandEvents.ParseEvent<S> event = CommandEvents.beginParse();
+        final SlowCommandLog<S> slowCommandLog = this.slowCommandLog;
+        final boolean timed = slowCommandLog != null && slowCommandLog.isEnabled(SlowCommandLog.Phase.PARSE);
+        final long startTime = timed ? System.nanoTime() : 0;
+        final ParseResults<S> parse = parseNodes(root, command, context, ParseObserver.combine(event, observer));
+        if (event != null) {
+            event.commit(parse);
+        }
+        if (timed) {
+            final long nanos = System.nanoTime() - startTime;
+            if (slowCommandLog.exceeds(SlowCommandLog.Phase.PARSE, nanos)) {
+                slowCommandLog.report(SlowCommandLog.Phase.PARSE, command.getString(), parsedNodes(parse.getContext()), source, nanos, -1, -1);
+            }
+        }
+        return parse;
     }
 
-    private ParseResults<S> parseNodes(final CommandNode<S> node, final StringReader originalReader, final CommandContextBuilder<S> contextSoFar) {
+    private ParseResults<S> parseNodes(final CommandNode<S> node, final StringReader originalReader, final CommandContextBuilder<S> contextSoFar, final ParseObserver<S> observer) {
         final S source = contextSoFar.getSource();
         Map<CommandNode<S>, CommandSyntaxException> errors = null;
         List<ParseResults<S>> potentials = null;
         final int cursor = originalReader.getCursor();
+        if (observer != null) {
+            observer.onParseChildren(node, cursor);
+        }
 
         for (final CommandNode<S> child : node.getRelevantNodes(originalReader)) {
             if (!child.canUse(source)) {
@@ -303,6 +707,7 @@ public class CommandDispatcher<S> {
             }
             final CommandContextBuilder<S> context = contextSoFar.copy();
             final StringReader reader = new StringReader(originalReader);
+            final long startTime = observer == null ? 0 : System.nanoTime();
             try {
                 try {
                     child.parse(reader, context);
@@ -315,6 +720,12 @@ public class CommandDispatcher<S> {
                     }
                 }
             } catch (final CommandSyntaxException ex) {
+                if (metrics != null) {
+                    metrics.recordParse(child, false);
+                }
+                if (observer != null) {
+                    observer.onParse(child, cursor, reader.getCursor(), ex, System.nanoTime() - startTime);
+                }
                 if (errors == null) {
                     errors = new LinkedHashMap<>();
                 }
@@ -322,17 +733,26 @@ public class CommandDispatcher<S> {
                 reader.setCursor(cursor);
                 continue;
             }
+            if (metrics != null) {
+                metrics.recordParse(child, true);
+            }
+            if (observer != null) {
+                observer.onParse(child, cursor, reader.getCursor(), null, System.nanoTime() - startTime);
+            }
 
             context.withCommand(child.getCommand());
             if (reader.canRead(child.getRedirect() == null ? 2 : 1)) {
                 reader.skip();
                 if (child.getRedirect() != null) {
                     final CommandContextBuilder<S> childContext = new CommandContextBuilder<>(this, source, child.getRedirect(), reader.getCursor());
-                    final ParseResults<S> parse = parseNodes(child.getRedirect(), reader, childContext);
+                    final ParseResults<S> parse = parseNodes(child.getRedirect(), reader, childContext, observer);
                     context.withChild(parse.getContext());
+                    if (observer != null) {
+                        observer.onChildrenParsed(node, 1);
+                    }
                     return new ParseResults<>(context, parse.getReader(), parse.getExceptions());
                 } else {
-                    final ParseResults<S> parse = parseNodes(child, reader, context);
+                    final ParseResults<S> parse = parseNodes(child, reader, context, observer);
                     if (potentials == null) {
                         potentials = new ArrayList<>(1);
                     }
@@ -346,6 +766,10 @@ public class CommandDispatcher<S> {
             }
         }
 
+        if (observer != null) {
+            observer.onChildrenParsed(node, potentials == null ? 0 : potentials.size());
+        }
+
         if (potentials != null) {
             if (potentials.size() > 1) {
                 potentials.sort((a, b) -> {
@@ -524,33 +948,136 @@ public class CommandDispatcher<S> {
     }
 
     public CompletableFuture<Suggestions> getCompletionSuggestions(final ParseResults<S> parse, int cursor) {
-        final CommandContextBuilder<S> context = parse.getContext();
+        final SuggestionContext<S> nodeBeforeCursor = parse.getContext().findSuggestionContext(cursor);
+        final int start = Math.min(nodeBeforeCursor.startPos, cursor);
 
-        final SuggestionContext<S> nodeBeforeCursor = context.findSuggestionContext(cursor);
+        return getCompletionSuggestions(parse, nodeBeforeCursor, start, cursor);
+    }
+
+    /**
+     * Gets suggestions for a parsed input string on what comes next, reusing a previous result where possible.
+     *
+     * <p>This behaves like {@link #getCompletionSuggestions(ParseResults, int)}, but returns a {@link SuggestionSnapshot}
+     * that may be passed back in for the next request, for example after the user typed another character.
+     * If the next request is for the same node and argument start, the new remaining input extends the previous one, and
+     * all children of that node report {@link CommandNode#isSuggestionMonotone()}, then the previous suggestions are
+     * filtered instead of asking every child again.</p>
+     *
+     * @param parse the result of a {@link #parse(StringReader, Object)}
+     * @param cursor the position in the input to get suggestions for
+     * @param previous the snapshot of an earlier request for the same input, or {@code null}
+     * @return a future that will eventually resolve into a {@link SuggestionSnapshot}
+     */
+    public CompletableFuture<SuggestionSnapshot<S>> getCompletionSnapshot(final ParseResults<S> parse, final int cursor, final SuggestionSnapshot<S> previous) {
+        final SuggestionContext<S> nodeBeforeCursor = parse.getContext().findSuggestionContext(cursor);
         final CommandNode<S> parent = nodeBeforeCursor.parent;
         final int start = Math.min(nodeBeforeCursor.startPos, cursor);
 
+        final String fullInput = parse.getReader().getString();
+        final String remaining = fullInput.substring(start, cursor);
+        if (previous != null && previous.canNarrow(parent, start, remaining)) {
+            return CompletableFuture.completedFuture(previous.narrow(fullInput, remaining));
+        }
+
+        final int childCount = parent.getChildren().size();
+        boolean monotone = !fuzzySuggestions;
+        for (final CommandNode<S> node : parent.getChildren()) {
+            monotone &= node.isSuggestionMonotone();
+        }
+        final boolean narrowable = monotone;
+        return getCompletionSuggestions(parse, nodeBeforeCursor, start, cursor).thenApply(suggestions -> new SuggestionSnapshot<>(parent, childCount, narrowable, start, remaining, suggestions));
+    }
+
+    private CompletableFuture<Suggestions> getCompletionSuggestions(final ParseResults<S> parse, final SuggestionContext<S> nodeBeforeCursor, final int start, final int cursor) {
+        final Object event = CommandEvents.beginSuggest();
+        final SlowCommandLog<S> slowCommandLog = this.slowCommandLog;
+        final boolean timed = slowCommandLog != null && slowCommandLog.isEnabled(SlowCommandLog.Phase.SUGGEST);
+        final long startTime = timed ? System.nanoTime() : 0;
+        final CompletableFuture<Suggestions> result = suggestNodes(parse, nodeBeforeCursor, start, cursor);
+        if (event != null) {
+            result.thenAccept(suggestions -> CommandEvents.commitSuggest(event, parse.getContext(), parse.getReader().getTotalLength(), cursor, suggestions.getList().size()));
+        }
+        if (timed) {
+            result.whenComplete((suggestions, throwable) -> {
+                final long nanos = System.nanoTime() - startTime;
+                if (slowCommandLog.exceeds(SlowCommandLog.Phase.SUGGEST, nanos)) {
+                    slowCommandLog.report(SlowCommandLog.Phase.SUGGEST, parse.getReader().getString(), parsedNodes(parse.getContext()), parse.getContext().getSource(), -1, nanos, -1);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static <S> List<ParsedCommandNode<S>> parsedNodes(final CommandContextBuilder<S> context) {
+        final List<ParsedCommandNode<S>> result = new ArrayList<>();
+        for (CommandContextBuilder<S> current = context; current != null; current = current.getChild()) {
+            result.addAll(current.getNodes());
+        }
+        return result;
+    }
+
+    private static <S> List<ParsedCommandNode<S>> parsedNodes(final CommandContext<S> context) {
+        final List<ParsedCommandNode<S>> result = new ArrayList<>();
+        for (CommandContext<S> current = context; current != null; current = current.getChild()) {
+            result.addAll(current.getNodes());
+        }
+        return result;
+    }
+
+    private CompletableFuture<Suggestions> suggestNodes(final ParseResults<S> parse, final SuggestionContext<S> nodeBeforeCursor, final int start, final int cursor) {
+        final CommandNode<S> parent = nodeBeforeCursor.parent;
+
         final String fullInput = parse.getReader().getString();
         final String truncatedInput = fullInput.substring(0, cursor);
-        final String truncatedInputLowerCase = truncatedInput.toLowerCase(Locale.ROOT);
-        @SuppressWarnings("unchecked") final CompletableFuture<Suggestions>[] futures = new CompletableFuture[parent.getChildren().size()];
+        final SuggestionsBuilder builder = new SuggestionsBuilder(truncatedInput, start);
+
+        final SuggestionCache<S> cache = suggestionCache;
+        final String remaining = builder.getRemaining();
+        if (cache != null) {
+            final Suggestions cached = cache.get(parent, start, remaining);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        final int childCount = parent.getChildren().size();
+        final boolean fuzzy = fuzzySuggestions;
+        final FuzzySuggestionIndex<S> index = fuzzy ? parent.getFuzzySuggestionIndex() : null;
+        final Collection<CommandNode<S>> nodes = fuzzy ? index.getOtherNodes() : parent.getChildren();
+        @SuppressWarnings("unchecked") final CompletableFuture<Suggestions>[] futures = new CompletableFuture[fuzzy ? nodes.size() + 1 : childCount];
+        boolean cacheable = cache != null;
         int i = 0;
-        for (final CommandNode<S> node : parent.getChildren()) {
+        if (fuzzy) {
+            futures[i++] = index.suggest(builder.restart()).buildFuture();
+        }
+        // Contexts are immutable, so every child can be given the same one
+        final CommandContext<S> context = nodes.isEmpty() ? null : nodeBeforeCursor.context.build(truncatedInput);
+        for (final CommandNode<S> node : nodes) {
             CompletableFuture<Suggestions> future = Suggestions.empty();
             try {
-                future = node.listSuggestions(nodeBeforeCursor.context.build(truncatedInput), new SuggestionsBuilder(truncatedInput, truncatedInputLowerCase, start));
+                future = node.listSuggestions(context, builder.restart());
+                cacheable &= node.isSuggestionCacheable();
             } catch (final CommandSyntaxException ignored) {
+                cacheable = false;
             }
             futures[i++] = future;
         }
 
+        final boolean storeResult = cacheable;
         final CompletableFuture<Suggestions> result = new CompletableFuture<>();
         CompletableFuture.allOf(futures).thenRun(() -> {
             final List<Suggestions> suggestions = new ArrayList<>();
             for (final CompletableFuture<Suggestions> future : futures) {
                 suggestions.add(future.join());
             }
-            result.complete(Suggestions.merge(fullInput, suggestions));
+            Suggestions merged = Suggestions.merge(fullInput, suggestions);
+            if (fuzzy) {
+                merged = FuzzySuggestionIndex.rank(merged, remaining);
+            }
+            if (storeResult) {
+                cache.put(parent, start, remaining, childCount, merged);
+            }
+            result.complete(merged);
         });
 
         return result;
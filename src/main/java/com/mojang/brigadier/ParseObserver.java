@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+
+/**
+ * Follows every branch {@link CommandDispatcher} tries while parsing a command.
+ *
+ * <p>Trying the children of a node is bracketed by {@link #onParseChildren(CommandNode, int)} and
+ * {@link #onChildrenParsed(CommandNode, int)}. In between, {@link #onParse} is called once for each child tried, and
+ * directly after a child matched, the children following it are tried in turn.</p>
+ */
+@FunctionalInterface
+public interface ParseObserver<S> {
+    /**
+     * Called after trying to parse a single node, before any of the nodes following it are tried.
+     *
+     * @param node the node that was tried
+     * @param start the cursor before parsing the node
+     * @param end the cursor after parsing the node, or where it failed
+     * @param exception why the node didn't match, or {@code null} if it did
+     * @param nanos how long parsing the node took
+     */
+    void onParse(CommandNode<S> node, int start, int end, CommandSyntaxException exception, long nanos);
+
+    /**
+     * Called before trying the children of a node, which is the root, the target of a redirect or the node that last
+     * matched.
+     *
+     * @param node the node whose children are about to be tried
+     * @param cursor the cursor the children are parsed from
+     */
+    default void onParseChildren(final CommandNode<S> node, final int cursor) {
+    }
+
+    /**
+     * Called after all children of a node were tried.
+     *
+     * @param node the node whose children were tried
+     * @param potentials how many complete branches were found below it, to pick the best one of
+     */
+    default void onChildrenParsed(final CommandNode<S> node, final int potentials) {
+    }
+
+    /**
+     * Combines two observers, either of which may be {@code null}.
+     */
+    static <S> ParseObserver<S> combine(final ParseObserver<S> first, final ParseObserver<S> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return new ParseObserver<S>() {
+            @Override
+            public void onParse(final CommandNode<S> node, final int start, final int end, final CommandSyntaxException exception, final long nanos) {
+                first.onParse(node, start, end, exception, nanos);
+                second.onParse(node, start, end, exception, nanos);
+            }
+
+            @Override
+            public void onParseChildren(final CommandNode<S> node, final int cursor) {
+                first.onParseChildren(node, cursor);
+                second.onParseChildren(node, cursor);
+            }
+
+            @Override
+            public void onChildrenParsed(final CommandNode<S> node, final int potentials) {
+                first.onChildrenParsed(node, potentials);
+                second.onChildrenParsed(node, potentials);
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.context.ContextChain;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A command parsed and flattened once, to be executed many times with different sources.
+ *
+ * <p>Executing with a source skips building the {@link CommandContext} and {@link ContextChain} again, which
+ * {@link CommandDispatcher#execute(ParseResults)} does on every call. Parsing checked the requirements of every node
+ * against the source it was parsed with, so they are checked again against each new source instead.</p>
+ *
+ * @see CommandDispatcher#prepare(ParseResults)
+ */
+public class PreparedCommand<S> {
+    private final CommandDispatcher<S> dispatcher;
+    private final ContextChain<S> chain;
+    private final CommandNode<S>[] nodes;
+
+    PreparedCommand(final CommandDispatcher<S> dispatcher, final ContextChain<S> chain) {
+        this.dispatcher = dispatcher;
+        this.chain = chain;
+
+        final List<CommandNode<S>> nodes = new ArrayList<>();
+        for (CommandContext<S> context = chain.getTopContext(); context != null; context = context.getChild()) {
+            for (final ParsedCommandNode<S> node : context.getNodes()) {
+                nodes.add(node.getNode());
+            }
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"}) final CommandNode<S>[] array = nodes.toArray(new CommandNode[0]);
+        this.nodes = array;
+    }
+
+    public ContextChain<S> getChain() {
+        return chain;
+    }
+
+    /**
+     * Executes this command for the given source, just as parsing and executing it with that source would.
+     *
+     * @param source the source to execute with
+     * @return a numeric result from a "command" that was performed
+     * @throws CommandSyntaxException if the source can't use this command, or it failed to execute
+     * @see CommandDispatcher#execute(ParseResults)
+     */
+    public int execute(final S source) throws CommandSyntaxException {
+        for (final CommandNode<S> node : nodes) {
+            if (!node.canUse(source)) {
+                throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand().create();
+            }
+        }
+        return dispatcher.execute(chain, source);
+    }
+}
@@ -7,8 +7,13 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 @FunctionalInterface
 public interface RedirectModifier<S> {
     Collection<S> apply(CommandContext<S> context) throws CommandSyntaxException;
+
+    default Iterator<S> iterate(final CommandContext<S> context) throws CommandSyntaxException {
+        return apply(context).iterator();
+    }
 }
@@ -0,0 +1,81 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.context.CommandContext;
+
+import java.util.Arrays;
+
+/**
+ * Completed commands collected by a {@link BatchingResultConsumer}, in the order they completed.
+ */
+public class ResultBatch<S> {
+    private final CommandContext<S>[] contexts;
+    private final boolean[] successes;
+    private final int[] results;
+    private int size;
+
+    public ResultBatch(final int capacity) {
+        @SuppressWarnings({"unchecked", "rawtypes"}) final CommandContext<S>[] contexts = new CommandContext[capacity];
+        this.contexts = contexts;
+        this.successes = new boolean[capacity];
+        this.results = new int[capacity];
+    }
+
+    void add(final CommandContext<S> context, final boolean success, final int result) {
+        contexts[size] = context;
+        successes[size] = success;
+        results[size] = result;
+        size++;
+    }
+
+    void clear() {
+        Arrays.fill(contexts, 0, size, null);
+        size = 0;
+    }
+
+    boolean isFull() {
+        return size == contexts.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CommandContext<S> getContext(final int index) {
+        checkIndex(index);
+        return contexts[index];
+    }
+
+    public boolean isSuccess(final int index) {
+        checkIndex(index);
+        return successes[index];
+    }
+
+    public int getResult(final int index) {
+        checkIndex(index);
+        return results[index];
+    }
+
+    /**
+     * Passes every command in this batch to a regular consumer, in order.
+     *
+     * @param consumer the consumer to notify
+     */
+    public void replay(final ResultConsumer<S> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.onCommandComplete(contexts[i], successes[i], results[i]);
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
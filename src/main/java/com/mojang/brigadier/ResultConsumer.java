@@ -8,4 +8,16 @@ import com.mojang.brigadier.context.CommandContext;
 @FunctionalInterface
 public interface ResultConsumer<S> {
     void onCommandComplete(CommandContext<S> context, boolean success, int result);
+
+    /**
+     * Called once every command of a stage has completed, before the next stage starts.
+     */
+    default void onStageComplete() {
+    }
+
+    /**
+     * Called once a whole execution has completed, whether or not it succeeded.
+     */
+    default void onExecuteComplete() {
+    }
 }
@@ -0,0 +1,197 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reports commands that were slow to parse, suggest or execute.
+ *
+ * <p>Set on a dispatcher with {@link CommandDispatcher#setSlowCommandLog(SlowCommandLog)}. Every phase has its own
+ * threshold, and a phase is only timed while its threshold is set. At most a given number of records are reported per
+ * period; any others are dropped, and counted in the next record reported.</p>
+ */
+public class SlowCommandLog<S> {
+    public enum Phase {
+        PARSE,
+        SUGGEST,
+        EXECUTE
+    }
+
+    private static final long DISABLED = Long.MAX_VALUE;
+
+    private final Consumer<SlowCommandRecord<S>> listener;
+    private volatile long[] thresholds = new long[Phase.values().length];
+    private volatile boolean enabled;
+    private volatile Redactor<S> redactor = (input, nodes) -> input;
+    private volatile Function<S, String> sourceDescriber = String::valueOf;
+
+    private int maxRecords = 10;
+    private long periodNanos = TimeUnit.SECONDS.toNanos(1);
+    private long periodStart;
+    private int recordsInPeriod;
+    private long suppressed;
+
+    /**
+     * Creates a log reporting to the given listener, with no thresholds set.
+     *
+     * @param listener called with every record reported, on the thread that finished the slow phase
+     */
+    public SlowCommandLog(final Consumer<SlowCommandRecord<S>> listener) {
+        this.listener = listener;
+        Arrays.fill(thresholds, DISABLED);
+    }
+
+    /**
+     * Sets how long a phase may take before it's reported.
+     *
+     * @param phase the phase to set the threshold for
+     * @param threshold the longest time allowed, or a negative number to stop timing this phase
+     * @param unit the unit of {@code threshold}
+     */
+    public synchronized void setThreshold(final Phase phase, final long threshold, final TimeUnit unit) {
+        final long[] thresholds = this.thresholds.clone();
+        thresholds[phase.ordinal()] = threshold < 0 ? DISABLED : unit.toNanos(threshold);
+        this.thresholds = thresholds;
+        boolean enabled = false;
+        for (final long value : thresholds) {
+            enabled |= value != DISABLED;
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets how the input is shown in records, to keep arguments such as passwords or messages out of logs.
+     *
+     * @see Redactor#arguments()
+     */
+    public void setRedactor(final Redactor<S> redactor) {
+        this.redactor = redactor;
+    }
+
+    /**
+     * Sets how sources are described in records, which is {@link String#valueOf(Object)} by default.
+     */
+    public void setSourceDescriber(final Function<S, String> sourceDescriber) {
+        this.sourceDescriber = sourceDescriber;
+    }
+
+    /**
+     * Sets how many records may be reported per period.
+     *
+     * @param maxRecords the most records reported per period
+     * @param period the length of a period
+     * @param unit the unit of {@code period}
+     */
+    public synchronized void setRateLimit(final int maxRecords, final long period, final TimeUnit unit) {
+        if (maxRecords <= 0) {
+            throw new IllegalArgumentException("Maximum records must be positive");
+        }
+        this.maxRecords = maxRecords;
+        this.periodNanos = unit.toNanos(period);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEnabled(final Phase phase) {
+        return enabled && getThreshold(phase) != DISABLED;
+    }
+
+    private long getThreshold(final Phase phase) {
+        return thresholds[phase.ordinal()];
+    }
+
+    boolean exceeds(final Phase phase, final long nanos) {
+        return nanos > getThreshold(phase);
+    }
+
+    /**
+     * Reports a phase that took longer than its threshold, unless the rate limit was reached.
+     *
+     * @param phase the phase that was slow
+     * @param parseNanos how long parsing took, or {@code -1} if unknown
+     * @param suggestNanos how long suggesting took, or {@code -1} if unknown
+     * @param executeNanos how long executing took, or {@code -1} if unknown
+     */
+    void report(final Phase phase, final String input, final List<ParsedCommandNode<S>> nodes, final S source, final long parseNanos, final long suggestNanos, final long executeNanos) {
+        final long suppressed;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            if (now - periodStart >= periodNanos || recordsInPeriod == 0) {
+                periodStart = now;
+                recordsInPeriod = 0;
+            }
+            if (recordsInPeriod >= maxRecords) {
+                this.suppressed++;
+                return;
+            }
+            recordsInPeriod++;
+            suppressed = this.suppressed;
+            this.suppressed = 0;
+        }
+
+        // Taken from what was parsed, as looking the last node up in the tree would walk all of it
+        final String[] path = new String[nodes.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = nodes.get(i).getNode().getName();
+        }
+        listener.accept(new SlowCommandRecord<>(phase, getThreshold(phase), redactor.redact(input, nodes), Collections.unmodifiableList(Arrays.asList(path)), sourceDescriber.apply(source), parseNanos, suggestNanos, executeNanos, suppressed));
+    }
+
+    /**
+     * Decides how the input of a slow command is shown.
+     */
+    @FunctionalInterface
+    public interface Redactor<S> {
+        /**
+         * Redacts a command.
+         *
+         * @param input the whole input
+         * @param nodes every node parsed from the input, across redirects, in order
+         * @return the input to show
+         */
+        String redact(String input, List<ParsedCommandNode<S>> nodes);
+
+        /**
+         * Replaces every argument with its name, such as {@code msg <targets> <message>}, and anything that didn't
+         * parse with {@code ...}.
+         */
+        static <S> Redactor<S> arguments() {
+            return (input, nodes) -> {
+                final StringBuilder result = new StringBuilder(input.length());
+                int cursor = 0;
+                for (final ParsedCommandNode<S> parsed : nodes) {
+                    final StringRange range = parsed.getRange();
+                    final CommandNode<S> node = parsed.getNode();
+                    if (range.getStart() < cursor) {
+                        continue;
+                    }
+                    result.append(input, cursor, range.getStart());
+                    result.append(node instanceof ArgumentCommandNode ? node.getUsageText() : range.get(input));
+                    cursor = range.getEnd();
+                }
+                if (cursor < input.length()) {
+                    if (input.substring(cursor).trim().isEmpty()) {
+                        result.append(input, cursor, input.length());
+                    } else {
+                        result.append(cursor == 0 ? "..." : " ...");
+                    }
+                }
+                return result.toString();
+            };
+        }
+    }
+}
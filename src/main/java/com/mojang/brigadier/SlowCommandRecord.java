@@ -0,0 +1,106 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A command reported by a {@link SlowCommandLog}.
+ *
+ * <p>Durations of phases that weren't timed together with the slow one are {@code -1}.</p>
+ */
+public class SlowCommandRecord<S> {
+    private final SlowCommandLog.Phase phase;
+    private final long thresholdNanos;
+    private final String input;
+    private final List<String> path;
+    private final String source;
+    private final long parseNanos;
+    private final long suggestNanos;
+    private final long executeNanos;
+    private final long suppressed;
+
+    public SlowCommandRecord(final SlowCommandLog.Phase phase, final long thresholdNanos, final String input, final List<String> path, final String source, final long parseNanos, final long suggestNanos, final long executeNanos, final long suppressed) {
+        this.phase = phase;
+        this.thresholdNanos = thresholdNanos;
+        this.input = input;
+        this.path = path;
+        this.source = source;
+        this.parseNanos = parseNanos;
+        this.suggestNanos = suggestNanos;
+        this.executeNanos = executeNanos;
+        this.suppressed = suppressed;
+    }
+
+    public SlowCommandLog.Phase getPhase() {
+        return phase;
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * Gets the input, as redacted by the log.
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the names of every node parsed, across redirects, in order.
+     *
+     * <p>Without redirects this is the path to the last node parsed, as given by {@link CommandDispatcher#getPath}.</p>
+     */
+    public List<String> getPath() {
+        return path;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    public long getSuggestNanos() {
+        return suggestNanos;
+    }
+
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * Gets how many slow commands were dropped by the rate limit since the previous record.
+     */
+    public long getSuppressed() {
+        return suppressed;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder("Slow ");
+        result.append(phase.name().toLowerCase(Locale.ROOT)).append(" of '").append(input).append("' by ").append(source);
+        result.append(" at ").append(String.join(" ", path));
+        result.append(" (threshold ").append(TimeUnit.NANOSECONDS.toMicros(thresholdNanos)).append("us");
+        append(result, "parse", parseNanos);
+        append(result, "suggest", suggestNanos);
+        append(result, "execute", executeNanos);
+        result.append(')');
+        if (suppressed > 0) {
+            result.append(", ").append(suppressed).append(" more suppressed");
+        }
+        return result.toString();
+    }
+
+    private static void append(final StringBuilder result, final String name, final long nanos) {
+        if (nanos >= 0) {
+            result.append(", ").append(name).append(' ').append(TimeUnit.NANOSECONDS.toMicros(nanos)).append("us");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link RedirectModifier} producing its sources one at a time, instead of as a materialized collection.
+ *
+ * <p>Combined with {@link CommandDispatcher#setDepthFirstExecution(boolean)}, each source is run through the rest of
+ * the chain before the next one is requested, so at most one iterator per stage is alive at a time.</p>
+ */
+@FunctionalInterface
+public interface StreamingRedirectModifier<S> extends RedirectModifier<S> {
+    @Override
+    Iterator<S> iterate(CommandContext<S> context) throws CommandSyntaxException;
+
+    @Override
+    default Collection<S> apply(final CommandContext<S> context) throws CommandSyntaxException {
+        final List<S> result = new ArrayList<>();
+        iterate(context).forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -24,6 +24,22 @@ public interface ArgumentType<T> {
         return Suggestions.empty();
     }
 
+    /**
+     * Whether {@link #listSuggestions(CommandContext, SuggestionsBuilder)} depends on nothing but
+     * {@link SuggestionsBuilder#getRemaining()}, so its result can be shared between sources and requests.
+     */
+    default boolean isSuggestionCacheable() {
+        return false;
+    }
+
+    /**
+     * Whether, for any remaining input extending a previous one, the suggestions are exactly the previous suggestions
+     * whose text starts with the new remaining input (ignoring case), so they can be narrowed instead of recomputed.
+     */
+    default boolean isSuggestionMonotone() {
+        return false;
+    }
+
     default Collection<String> getExamples() {
         return Collections.emptyList();
     }
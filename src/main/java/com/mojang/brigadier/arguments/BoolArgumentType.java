@@ -43,6 +43,16 @@ public class BoolArgumentType implements ArgumentType<Boolean> {
         return builder.buildFuture();
     }
 
+    @Override
+    public boolean isSuggestionCacheable() {
+        return true;
+    }
+
+    @Override
+    public boolean isSuggestionMonotone() {
+        return true;
+    }
+
     @Override
     public Collection<String> getExamples() {
         return EXAMPLES;
@@ -3,6 +3,7 @@
 
 package com.mojang.brigadier.builder;
 
+import com.mojang.brigadier.AsyncCommand;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.RedirectModifier;
 import com.mojang.brigadier.SingleRedirectModifier;
@@ -14,7 +15,8 @@ import java.util.Collections;
 import java.util.function.Predicate;
 
 public abstract class ArgumentBuilder<S, T extends ArgumentBuilder<S, T>> {
-    private final RootCommandNode<S> arguments = new RootCommandNode<>();
+    // Only created once a child is added, so that leaves don't build a throwaway node
+    private RootCommandNode<S> arguments;
     private Command<S> command;
     private Predicate<S> requirement = s -> true;
     private CommandNode<S> target;
@@ -27,7 +29,7 @@ public abstract class ArgumentBuilder<S, T extends ArgumentBuilder<S, T>> {
         if (target != null) {
             throw new IllegalStateException("Cannot add children to a redirected node");
         }
-        arguments.addChild(argument.build());
+        getArgumentsNode().addChild(argument.build());
         return getThis();
     }
 
@@ -35,12 +37,19 @@ public abstract class ArgumentBuilder<S, T extends ArgumentBuilder<S, T>> {
         if (target != null) {
             throw new IllegalStateException("Cannot add children to a redirected node");
         }
-        arguments.addChild(argument);
+        getArgumentsNode().addChild(argument);
         return getThis();
     }
 
+    private RootCommandNode<S> getArgumentsNode() {
+        if (arguments == null) {
+            arguments = new RootCommandNode<>();
+        }
+        return arguments;
+    }
+
     public Collection<CommandNode<S>> getArguments() {
-        return arguments.getChildren();
+        return arguments == null ? Collections.emptyList() : arguments.getChildren();
     }
 
     public T executes(final Command<S> command) {
@@ -48,6 +57,10 @@ public abstract class ArgumentBuilder<S, T extends ArgumentBuilder<S, T>> {
         return getThis();
     }
 
+    public T executesAsync(final AsyncCommand<S> command) {
+        return executes(command);
+    }
+
     public Command<S> getCommand() {
         return command;
     }
@@ -74,7 +87,7 @@ public abstract class ArgumentBuilder<S, T extends ArgumentBuilder<S, T>> {
     }
 
     public T forward(final CommandNode<S> target, final RedirectModifier<S> modifier, final boolean fork) {
-        if (!arguments.getChildren().isEmpty()) {
+        if (!getArguments().isEmpty()) {
             throw new IllegalStateException("Cannot forward a node with children");
         }
         this.target = target;
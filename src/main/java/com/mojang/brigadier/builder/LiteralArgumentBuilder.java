@@ -3,7 +3,6 @@
 
 package com.mojang.brigadier.builder;
 
-import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 
 public class LiteralArgumentBuilder<S> extends ArgumentBuilder<S, LiteralArgumentBuilder<S>> {
@@ -30,9 +29,7 @@ public class LiteralArgumentBuilder<S> extends ArgumentBuilder<S, LiteralArgumen
     public LiteralCommandNode<S> build() {
         final LiteralCommandNode<S> result = new LiteralCommandNode<>(getLiteral(), getCommand(), getRequirement(), getRedirect(), getRedirectModifier(), isFork());
 
-        for (final CommandNode<S> argument : getArguments()) {
-            result.addChild(argument);
-        }
+        result.addChildren(getArguments());
 
         return result;
     }
@@ -1,31 +1,57 @@
 package com.mojang.brigadier.context;
 
+import com.mojang.brigadier.AsyncCommand;
+import com.mojang.brigadier.Command;
 import com.mojang.brigadier.RedirectModifier;
 import com.mojang.brigadier.ResultConsumer;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.metrics.CommandMetrics;
+import com.mojang.brigadier.tree.CommandNode;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
 
 public class ContextChain<S> {
+    // Below this many sources in a stage, handing work to another thread costs more than it saves
+    public static final int PARALLEL_THRESHOLD = 64;
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
     // TODO ideally those two would have separate types, but modifiers and executables expect full context
     private final List<CommandContext<S>> modifiers;
     private final CommandContext<S> executable;
+    private final CommandMetrics<S> metrics;
 
     private ContextChain<S> nextStageCache = null;
 
     public ContextChain(final List<CommandContext<S>> modifiers, final CommandContext<S> executable) {
+        this(modifiers, executable, null);
+    }
+
+    public ContextChain(final List<CommandContext<S>> modifiers, final CommandContext<S> executable, final CommandMetrics<S> metrics) {
         if (executable.getCommand() == null) {
             throw new IllegalArgumentException("Last command in chain must be executable");
         }
         this.modifiers = modifiers;
         this.executable = executable;
+        this.metrics = metrics;
     }
 
     public static <S> Optional<ContextChain<S>> tryFlatten(final CommandContext<S> rootContext) {
+        return tryFlatten(rootContext, null);
+    }
+
+    public static <S> Optional<ContextChain<S>> tryFlatten(final CommandContext<S> rootContext, final CommandMetrics<S> metrics) {
         final List<CommandContext<S>> modifiers = new ArrayList<>();
 
         CommandContext<S> current = rootContext;
@@ -38,7 +64,7 @@ public class ContextChain<S> {
                     return Optional.empty();
                 }
 
-                return Optional.of(new ContextChain<>(modifiers, current));
+                return Optional.of(new ContextChain<>(modifiers, current, metrics));
             }
 
             modifiers.add(current);
@@ -47,6 +73,10 @@ public class ContextChain<S> {
     }
 
     public static <S> Collection<S> runModifier(final CommandContext<S> modifier, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode) throws CommandSyntaxException {
+        return runModifier(modifier, source, resultConsumer, forkedMode, null);
+    }
+
+    public static <S> Collection<S> runModifier(final CommandContext<S> modifier, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode, final CommandMetrics<S> metrics) throws CommandSyntaxException {
         final RedirectModifier<S> sourceModifier = modifier.getRedirectModifier();
 
         // Note: source currently in context is irrelevant at this point, since we might have updated it in one of earlier stages
@@ -56,62 +86,559 @@ public class ContextChain<S> {
         }
 
         final CommandContext<S> contextToUse = modifier.copyFor(source);
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final Collection<S> result;
         try {
-            return sourceModifier.apply(contextToUse);
+            result = sourceModifier.apply(contextToUse);
+        } catch (final RuntimeException ex) {
+            if (metrics != null) {
+                metrics.recordRedirect(getNode(modifier), false, System.nanoTime() - start);
+            }
+            throw ex;
         } catch (final CommandSyntaxException ex) {
+            if (metrics != null) {
+                metrics.recordRedirect(getNode(modifier), false, System.nanoTime() - start);
+            }
             resultConsumer.onCommandComplete(contextToUse, false, 0);
             if (forkedMode) {
                 return Collections.emptyList();
             }
             throw ex;
         }
+        if (metrics != null) {
+            metrics.recordRedirect(getNode(modifier), true, System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    public static <S> Iterator<S> iterateModifier(final CommandContext<S> modifier, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode) throws CommandSyntaxException {
+        return iterateModifier(modifier, source, resultConsumer, forkedMode, null);
+    }
+
+    public static <S> Iterator<S> iterateModifier(final CommandContext<S> modifier, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode, final CommandMetrics<S> metrics) throws CommandSyntaxException {
+        final RedirectModifier<S> sourceModifier = modifier.getRedirectModifier();
+
+        if (sourceModifier == null) {
+            return Collections.singleton(source).iterator();
+        }
+
+        final CommandContext<S> contextToUse = modifier.copyFor(source);
+        // Only covers starting the iteration, as sources are then produced while the rest of the chain runs
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final Iterator<S> result;
+        try {
+            result = sourceModifier.iterate(contextToUse);
+        } catch (final RuntimeException ex) {
+            if (metrics != null) {
+                metrics.recordRedirect(getNode(modifier), false, System.nanoTime() - start);
+            }
+            throw ex;
+        } catch (final CommandSyntaxException ex) {
+            if (metrics != null) {
+                metrics.recordRedirect(getNode(modifier), false, System.nanoTime() - start);
+            }
+            resultConsumer.onCommandComplete(contextToUse, false, 0);
+            if (forkedMode) {
+                return Collections.emptyIterator();
+            }
+            throw ex;
+        }
+        if (metrics != null) {
+            metrics.recordRedirect(getNode(modifier), true, System.nanoTime() - start);
+        }
+        return result;
     }
 
     public static <S> int runExecutable(final CommandContext<S> executable, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode) throws CommandSyntaxException {
+        return runExecutable(executable, source, resultConsumer, forkedMode, null);
+    }
+
+    public static <S> int runExecutable(final CommandContext<S> executable, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode, final CommandMetrics<S> metrics) throws CommandSyntaxException {
         final CommandContext<S> contextToUse = executable.copyFor(source);
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final int result;
         try {
-            final int result = executable.getCommand().run(contextToUse);
-            resultConsumer.onCommandComplete(contextToUse, true, result);
-            return forkedMode ? 1 : result;
+            result = executable.getCommand().run(contextToUse);
+        } catch (final RuntimeException ex) {
+            if (metrics != null) {
+                metrics.recordExecution(getNode(executable), false, System.nanoTime() - start);
+            }
+            throw ex;
         } catch (final CommandSyntaxException ex) {
+            if (metrics != null) {
+                metrics.recordExecution(getNode(executable), false, System.nanoTime() - start);
+            }
             resultConsumer.onCommandComplete(contextToUse, false, 0);
             if (forkedMode) {
                 return 0;
             }
             throw ex;
         }
+        if (metrics != null) {
+            metrics.recordExecution(getNode(executable), true, System.nanoTime() - start);
+        }
+        resultConsumer.onCommandComplete(contextToUse, true, result);
+        return forkedMode ? 1 : result;
+    }
+
+    public static <S> CompletableFuture<Integer> runExecutableAsync(final CommandContext<S> executable, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode) {
+        return runExecutableAsync(executable, source, resultConsumer, forkedMode, null);
+    }
+
+    public static <S> CompletableFuture<Integer> runExecutableAsync(final CommandContext<S> executable, final S source, final ResultConsumer<S> resultConsumer, final boolean forkedMode, final CommandMetrics<S> metrics) {
+        final CommandContext<S> contextToUse = executable.copyFor(source);
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final Command<S> command = executable.getCommand();
+        CompletableFuture<Integer> future;
+        try {
+            future = command instanceof AsyncCommand ? ((AsyncCommand<S>) command).runAsync(contextToUse) : CompletableFuture.completedFuture(command.run(contextToUse));
+        } catch (final CommandSyntaxException | RuntimeException ex) {
+            future = failedFuture(ex);
+        }
+
+        return future.handle((result, throwable) -> {
+            if (metrics != null) {
+                metrics.recordExecution(getNode(executable), throwable == null, System.nanoTime() - start);
+            }
+            if (throwable == null) {
+                resultConsumer.onCommandComplete(contextToUse, true, result);
+                return CompletableFuture.completedFuture(forkedMode ? 1 : result);
+            }
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof CommandSyntaxException) {
+                resultConsumer.onCommandComplete(contextToUse, false, 0);
+                if (forkedMode) {
+                    return CompletableFuture.completedFuture(0);
+                }
+            }
+            return ContextChain.<Integer>failedFuture(cause);
+        }).thenCompose(Function.identity());
     }
 
     public int executeAll(final S source, final ResultConsumer<S> resultConsumer) throws CommandSyntaxException {
+        return executeAll(source, resultConsumer, null);
+    }
+
+    public int executeAll(final S source, final ResultConsumer<S> resultConsumer, final Executor executor) throws CommandSyntaxException {
+        return executeAll(source, resultConsumer, executor, false);
+    }
+
+    /**
+     * Executes this chain, running large enough forked stages on the given executor.
+     *
+     * <p>By default sources are split into a few chunks per processor, and only once a stage has at least
+     * {@link #PARALLEL_THRESHOLD} of them. With {@code perSource}, meant for commands that block on I/O and an executor
+     * that can afford a thread per task, every forked source gets its own task instead.</p>
+     *
+     * <p>The calling thread runs part of each stage itself and never waits for work that hasn't started, so a command
+     * in a fork may execute another fork on the same executor without deadlocking, however few threads it has. Once a
+     * command or modifier throws, sources after it are no longer started, but those already running on other threads
+     * still complete. Their side effects happen although a sequential run would have stopped first, and their results
+     * aren't reported.</p>
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified of each command, always on the calling thread and in source order
+     * @param executor the executor to run forked stages on, or {@code null} to run everything on the calling thread
+     * @param perSource whether to run every forked source as a separate task
+     * @return the result of the command, or the amount of successful commands if it forked
+     * @throws CommandSyntaxException if a command failed outside of a fork
+     */
+    public int executeAll(final S source, final ResultConsumer<S> resultConsumer, final Executor executor, final boolean perSource) throws CommandSyntaxException {
+        return executeAll(source, resultConsumer, executor, perSource, ResultOverflowPolicy.WRAP);
+    }
+
+    /**
+     * Executes this chain, adding up the results of every source without overflowing.
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified of each command, always on the calling thread and in source order
+     * @param executor the executor to run forked stages on, or {@code null} to run everything on the calling thread
+     * @param perSource whether to run every forked source as a separate task
+     * @param overflowPolicy what to do if the total doesn't fit an {@code int}
+     * @return the result of the command, or the amount of successful commands if it forked
+     * @throws CommandSyntaxException if a command failed outside of a fork
+     * @see #executeAll(Object, ResultConsumer, Executor, boolean)
+     */
+    public int executeAll(final S source, final ResultConsumer<S> resultConsumer, final Executor executor, final boolean perSource, final ResultOverflowPolicy overflowPolicy) throws CommandSyntaxException {
         if (modifiers.isEmpty()) {
             // Fast path - just a single stage
-            return runExecutable(executable, source, resultConsumer, false);
+            return runExecutable(executable, source, resultConsumer, false, metrics);
         }
 
         boolean forkedMode = false;
-        List<S> currentSources = Collections.singletonList(source);
+        // While a stage has a single source it is kept here, so plain redirects don't need any list
+        S singleSource = source;
+        List<S> currentSources = null;
+        List<S> nextSources = null;
 
-        for (final CommandContext<S> modifier : modifiers) {
+        for (int i = 0; i < modifiers.size(); i++) {
+            final CommandContext<S> modifier = modifiers.get(i);
             forkedMode |= modifier.isForked();
+            if (i > 0) {
+                resultConsumer.onStageComplete();
+            }
+
+            if (currentSources == null) {
+                if (modifier.getRedirectModifier() == null) {
+                    continue;
+                }
+                final Collection<S> result = runModifier(modifier, singleSource, resultConsumer, forkedMode, metrics);
+                if (result.isEmpty()) {
+                    return 0;
+                } else if (result.size() == 1) {
+                    singleSource = result.iterator().next();
+                } else {
+                    currentSources = new ArrayList<>(result);
+                }
+                continue;
+            }
 
-            List<S> nextSources = new ArrayList<>();
+            // Only forked stages may run concurrently, as they can't fail part way through
+            if (executor != null && forkedMode && currentSources.size() >= (perSource ? 2 : PARALLEL_THRESHOLD)) {
+                currentSources = runModifierParallel(modifier, currentSources, resultConsumer, executor, chunkCount(currentSources.size(), perSource), metrics);
+                if (currentSources.isEmpty()) {
+                    return 0;
+                }
+                continue;
+            }
+
+            // Swap between two buffers, rather than allocating a list per stage
+            if (nextSources == null) {
+                nextSources = new ArrayList<>(currentSources.size());
+            } else {
+                nextSources.clear();
+            }
             for (final S sourceToRun : currentSources) {
-                nextSources.addAll(runModifier(modifier, sourceToRun, resultConsumer, forkedMode));
+                if (modifier.getRedirectModifier() == null) {
+                    nextSources.add(sourceToRun);
+                } else {
+                    nextSources.addAll(runModifier(modifier, sourceToRun, resultConsumer, forkedMode, metrics));
+                }
             }
             if (nextSources.isEmpty()) {
                 return 0;
             }
+            final List<S> previousSources = currentSources;
             currentSources = nextSources;
+            nextSources = previousSources;
+        }
+
+        resultConsumer.onStageComplete();
+
+        final int result;
+        if (currentSources == null) {
+            result = runExecutable(executable, singleSource, resultConsumer, forkedMode, metrics);
+        } else if (executor != null && forkedMode && currentSources.size() >= (perSource ? 2 : PARALLEL_THRESHOLD)) {
+            result = overflowPolicy.toInt(runExecutableParallel(executable, currentSources, resultConsumer, executor, chunkCount(currentSources.size(), perSource), metrics));
+        } else {
+            long total = 0;
+            for (final S executionSource : currentSources) {
+                total += runExecutable(executable, executionSource, resultConsumer, forkedMode, metrics);
+            }
+            result = overflowPolicy.toInt(total);
         }
 
-        int result = 0;
+        resultConsumer.onStageComplete();
+        return result;
+    }
+
+    private static <S> CommandNode<S> getNode(final CommandContext<S> context) {
+        final List<ParsedCommandNode<S>> nodes = context.getNodes();
+        return nodes.isEmpty() ? context.getRootNode() : nodes.get(nodes.size() - 1).getNode();
+    }
+
+    /**
+     * Starts an execution of this chain that can be run a slice at a time.
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified of each command, as it runs
+     * @return an execution that hasn't run anything yet
+     * @see ResumableExecution#run(int, long)
+     */
+    public ResumableExecution<S> startExecution(final S source, final ResultConsumer<S> resultConsumer) {
+        return startExecution(source, resultConsumer, ResultOverflowPolicy.WRAP);
+    }
+
+    /**
+     * Starts an execution of this chain that can be run a slice at a time, adding up results without overflowing.
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified of each command, as it runs
+     * @param overflowPolicy what to do if the total doesn't fit an {@code int}
+     * @return an execution that hasn't run anything yet
+     * @see #startExecution(Object, ResultConsumer)
+     */
+    public ResumableExecution<S> startExecution(final S source, final ResultConsumer<S> resultConsumer, final ResultOverflowPolicy overflowPolicy) {
+        return new ResumableExecution<>(modifiers, executable, source, resultConsumer, metrics, overflowPolicy);
+    }
+
+    /**
+     * Executes this chain depth-first, running each source all the way through the chain before requesting the next.
+     *
+     * <p>Unlike {@link #executeAll(Object, ResultConsumer)}, no stage is collected into a list, so with
+     * {@link com.mojang.brigadier.StreamingRedirectModifier}s peak memory depends on the length of the chain rather than
+     * the amount of sources it fans out to. The same commands run with the same result, but in a different order: a
+     * modifier for the second source of a stage runs after everything following the first source.</p>
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified of each command, in execution order
+     * @return the result of the command, or the amount of successful commands if it forked
+     * @throws CommandSyntaxException if a command failed outside of a fork
+     */
+    public int executeAllDepthFirst(final S source, final ResultConsumer<S> resultConsumer) throws CommandSyntaxException {
+        return executeAllDepthFirst(source, resultConsumer, ResultOverflowPolicy.WRAP);
+    }
+
+    public int executeAllDepthFirst(final S source, final ResultConsumer<S> resultConsumer, final ResultOverflowPolicy overflowPolicy) throws CommandSyntaxException {
+        if (modifiers.isEmpty()) {
+            return runExecutable(executable, source, resultConsumer, false, metrics);
+        }
+
+        final int depth = modifiers.size();
+        final boolean[] forkedMode = new boolean[depth];
+        for (int i = 0; i < depth; i++) {
+            forkedMode[i] = (i > 0 && forkedMode[i - 1]) || modifiers.get(i).isForked();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"}) final Iterator<S>[] stack = new Iterator[depth];
+        stack[0] = iterateModifier(modifiers.get(0), source, resultConsumer, forkedMode[0], metrics);
+        int level = 0;
+        long result = 0;
+        while (level >= 0) {
+            if (!stack[level].hasNext()) {
+                stack[level--] = null;
+                continue;
+            }
+            final S next = stack[level].next();
+            if (level == depth - 1) {
+                result += runExecutable(executable, next, resultConsumer, forkedMode[level], metrics);
+            } else {
+                level++;
+                stack[level] = iterateModifier(modifiers.get(level), next, resultConsumer, forkedMode[level], metrics);
+            }
+        }
+        return overflowPolicy.toInt(result);
+    }
+
+    /**
+     * Executes this chain, composing any {@link AsyncCommand} into the returned future instead of waiting for it.
+     *
+     * <p>Redirect modifiers still run on the calling thread, before this method returns. Failures complete the returned
+     * future exceptionally rather than being thrown, except in forked mode, where a {@link CommandSyntaxException} only
+     * counts the source as unsuccessful. Forked sources run concurrently, and the result consumer is called as each of
+     * them completes; otherwise each source only starts once the one before it has succeeded.</p>
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified as each command completes, on whichever thread completed it
+     * @return a future of the same result {@link #executeAll(Object, ResultConsumer)} would return
+     */
+    public CompletableFuture<Integer> executeAllAsync(final S source, final ResultConsumer<S> resultConsumer) {
+        return executeAllAsync(source, resultConsumer, ResultOverflowPolicy.WRAP);
+    }
+
+    /**
+     * Executes this chain asynchronously, adding up the results of every source without overflowing.
+     *
+     * @param source the source to execute with
+     * @param resultConsumer notified as each command completes, on whichever thread completed it
+     * @param overflowPolicy what to do if the total doesn't fit an {@code int}
+     * @return a future of the same result {@link #executeAll(Object, ResultConsumer, Executor, boolean, ResultOverflowPolicy)}
+     * would return, completed exceptionally if the overflow policy throws
+     * @see #executeAllAsync(Object, ResultConsumer)
+     */
+    public CompletableFuture<Integer> executeAllAsync(final S source, final ResultConsumer<S> resultConsumer, final ResultOverflowPolicy overflowPolicy) {
+        if (modifiers.isEmpty()) {
+            return runExecutableAsync(executable, source, resultConsumer, false, metrics);
+        }
+
+        boolean forkedMode = false;
+        List<S> currentSources = Collections.singletonList(source);
+
+        try {
+            for (final CommandContext<S> modifier : modifiers) {
+                forkedMode |= modifier.isForked();
+
+                final List<S> nextSources = new ArrayList<>();
+                for (final S sourceToRun : currentSources) {
+                    nextSources.addAll(runModifier(modifier, sourceToRun, resultConsumer, forkedMode, metrics));
+                }
+                if (nextSources.isEmpty()) {
+                    return CompletableFuture.completedFuture(0);
+                }
+                currentSources = nextSources;
+            }
+        } catch (final CommandSyntaxException | RuntimeException ex) {
+            return failedFuture(ex);
+        }
+
+        if (forkedMode) {
+            @SuppressWarnings({"unchecked", "rawtypes"}) final CompletableFuture<Integer>[] futures = new CompletableFuture[currentSources.size()];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = runExecutableAsync(executable, currentSources.get(i), resultConsumer, true, metrics);
+            }
+            return CompletableFuture.allOf(futures).thenApply(ignored -> {
+                long result = 0;
+                for (final CompletableFuture<Integer> future : futures) {
+                    result += future.join();
+                }
+                return overflowPolicy.toInt(result);
+            });
+        }
+
+        CompletableFuture<Long> result = CompletableFuture.completedFuture(0L);
         for (final S executionSource : currentSources) {
-            result += runExecutable(executable, executionSource, resultConsumer, forkedMode);
+            result = result.thenCompose(sum -> runExecutableAsync(executable, executionSource, resultConsumer, false, metrics).thenApply(value -> sum + value));
+        }
+        return result.thenApply(overflowPolicy::toInt);
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(final Throwable ex) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(ex);
+        return future;
+    }
+
+    private static <S> List<S> runModifierParallel(final CommandContext<S> modifier, final List<S> sources, final ResultConsumer<S> resultConsumer, final Executor executor, final int chunks, final CommandMetrics<S> metrics) throws CommandSyntaxException {
+        @SuppressWarnings({"unchecked", "rawtypes"}) final List<S>[] results = new List[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            results[chunk] = new ArrayList<>();
+        }
+        runChunked(sources, chunks, resultConsumer, executor, (chunk, index, consumer) -> results[chunk].addAll(runModifier(modifier, sources.get(index), consumer, true, metrics)));
+
+        final List<S> nextSources = new ArrayList<>();
+        for (final List<S> result : results) {
+            nextSources.addAll(result);
         }
+        return nextSources;
+    }
+
+    private static <S> long runExecutableParallel(final CommandContext<S> executable, final List<S> sources, final ResultConsumer<S> resultConsumer, final Executor executor, final int chunks, final CommandMetrics<S> metrics) throws CommandSyntaxException {
+        final long[] results = new long[chunks];
+        runChunked(sources, chunks, resultConsumer, executor, (chunk, index, consumer) -> results[chunk] += runExecutable(executable, sources.get(index), consumer, true, metrics));
 
+        long result = 0;
+        for (final long chunkResult : results) {
+            result += chunkResult;
+        }
         return result;
     }
 
+    private static int chunkCount(final int sources, final boolean perSource) {
+        if (perSource) {
+            return sources;
+        }
+        return Math.max(1, Math.min(sources, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR));
+    }
+
+    private static <S> void runChunked(final List<S> sources, final int chunks, final ResultConsumer<S> resultConsumer, final Executor executor, final ChunkTask<S> task) throws CommandSyntaxException {
+        final ChunkedRun<S> run = new ChunkedRun<>(sources.size(), chunks, task);
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            final int index = chunk;
+            try {
+                executor.execute(() -> run.runChunk(index));
+            } catch (final RejectedExecutionException ignored) {
+                // The calling thread picks up whatever wasn't handed out
+                break;
+            }
+        }
+        // The calling thread takes every chunk no worker has started yet, so that it only ever waits for chunks that
+        // are already running. Otherwise a fork nested in a command could wait on work queued behind itself.
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            run.runChunk(chunk);
+        }
+
+        // Replay in source order on the calling thread, so the consumer sees what a sequential run would show it,
+        // up to and including the first failing chunk
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            run.done[chunk].join();
+            run.consumers[chunk].replay(resultConsumer);
+            final Throwable failure = run.failures[chunk];
+            if (failure instanceof CommandSyntaxException) {
+                throw (CommandSyntaxException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new CompletionException(failure);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask<S> {
+        void run(int chunk, int index, ResultConsumer<S> consumer) throws CommandSyntaxException;
+    }
+
+    /**
+     * The shared state of one parallel stage, split into chunks that are each run by whichever thread claims them first.
+     */
+    private static final class ChunkedRun<S> {
+        private final int size;
+        private final int chunks;
+        private final ChunkTask<S> task;
+        private final AtomicIntegerArray claimed;
+        private final BufferedResultConsumer<S>[] consumers;
+        private final Throwable[] failures;
+        private final CompletableFuture<Void>[] done;
+        // The first chunk in source order that failed. Chunks after it stop before their next source, as a sequential
+        // run would never have reached them, while chunks before it still run to the end.
+        private final AtomicInteger firstFailure;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ChunkedRun(final int size, final int chunks, final ChunkTask<S> task) {
+            this.size = size;
+            this.chunks = chunks;
+            this.task = task;
+            this.claimed = new AtomicIntegerArray(chunks);
+            this.consumers = new BufferedResultConsumer[chunks];
+            this.failures = new Throwable[chunks];
+            this.done = new CompletableFuture[chunks];
+            this.firstFailure = new AtomicInteger(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                consumers[chunk] = new BufferedResultConsumer<>();
+                done[chunk] = new CompletableFuture<>();
+            }
+        }
+
+        private void runChunk(final int chunk) {
+            if (!claimed.compareAndSet(chunk, 0, 1)) {
+                return;
+            }
+            final int from = (int) ((long) size * chunk / chunks);
+            final int to = (int) ((long) size * (chunk + 1) / chunks);
+            try {
+                for (int i = from; i < to && chunk < firstFailure.get(); i++) {
+                    task.run(chunk, i, consumers[chunk]);
+                }
+            } catch (final Throwable ex) {
+                failures[chunk] = ex;
+                firstFailure.accumulateAndGet(chunk, Math::min);
+            } finally {
+                done[chunk].complete(null);
+            }
+        }
+    }
+
+    private static final class BufferedResultConsumer<S> implements ResultConsumer<S> {
+        private final List<CommandContext<S>> contexts = new ArrayList<>();
+        private final List<Boolean> successes = new ArrayList<>();
+        private final List<Integer> results = new ArrayList<>();
+
+        @Override
+        public void onCommandComplete(final CommandContext<S> context, final boolean success, final int result) {
+            contexts.add(context);
+            successes.add(success);
+            results.add(result);
+        }
+
+        private void replay(final ResultConsumer<S> consumer) {
+            for (int i = 0; i < contexts.size(); i++) {
+                consumer.onCommandComplete(contexts.get(i), successes.get(i), results.get(i));
+            }
+        }
+    }
+
     public Stage getStage() {
         return modifiers.isEmpty() ? Stage.EXECUTE : Stage.MODIFY;
     }
@@ -130,7 +657,7 @@ public class ContextChain<S> {
         }
 
         if (nextStageCache == null) {
-            nextStageCache = new ContextChain<>(modifiers.subList(1, modifierCount), executable);
+            nextStageCache = new ContextChain<>(modifiers.subList(1, modifierCount), executable, metrics);
         }
         return nextStageCache;
     }
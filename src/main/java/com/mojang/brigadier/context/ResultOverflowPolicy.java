@@ -0,0 +1,39 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.context;
+
+/**
+ * How to turn the total of a command executed for many sources into an {@code int} when it doesn't fit.
+ */
+public enum ResultOverflowPolicy {
+    /**
+     * Keeps the low 32 bits, as adding up {@code int}s would.
+     */
+    WRAP {
+        @Override
+        public int toInt(final long result) {
+            return (int) result;
+        }
+    },
+    /**
+     * Clamps to {@link Integer#MIN_VALUE} or {@link Integer#MAX_VALUE}.
+     */
+    SATURATE {
+        @Override
+        public int toInt(final long result) {
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, result));
+        }
+    },
+    /**
+     * Throws an {@link ArithmeticException}.
+     */
+    FAIL {
+        @Override
+        public int toInt(final long result) {
+            return Math.toIntExact(result);
+        }
+    };
+
+    public abstract int toInt(long result);
+}
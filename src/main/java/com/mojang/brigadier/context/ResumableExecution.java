@@ -0,0 +1,149 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.context;
+
+import com.mojang.brigadier.ResultConsumer;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.metrics.CommandMetrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An execution of a {@link ContextChain} that can be paused between any two commands and continued later, such as on
+ * the next tick of a server.
+ *
+ * <p>Each operation runs one redirect modifier or the final command for a single source. Running in slices gives the
+ * exact same commands, order, result consumer notifications and result as
+ * {@link ContextChain#executeAll(Object, ResultConsumer, java.util.concurrent.Executor, boolean, ResultOverflowPolicy)}
+ * without an executor, however the work is divided. Stages always run breadth-first and on the calling thread, as
+ * running depth-first or on a fork executor would leave nothing to pause between.</p>
+ *
+ * <p>Instances are not thread-safe, but can be handed between threads as long as only one runs them at a time.</p>
+ */
+public class ResumableExecution<S> {
+    private final List<CommandContext<S>> modifiers;
+    private final CommandContext<S> executable;
+    private final ResultConsumer<S> resultConsumer;
+    private final CommandMetrics<S> metrics;
+    private final ResultOverflowPolicy overflowPolicy;
+
+    private int stage = 0;
+    private boolean forkedMode;
+    private List<S> currentSources;
+    private List<S> nextSources = new ArrayList<>();
+    private int index = 0;
+    private long result = 0;
+    private boolean done = false;
+
+    ResumableExecution(final List<CommandContext<S>> modifiers, final CommandContext<S> executable, final S source, final ResultConsumer<S> resultConsumer, final CommandMetrics<S> metrics, final ResultOverflowPolicy overflowPolicy) {
+        this.modifiers = modifiers;
+        this.executable = executable;
+        this.resultConsumer = resultConsumer;
+        this.metrics = metrics;
+        this.overflowPolicy = overflowPolicy;
+        this.forkedMode = !modifiers.isEmpty() && modifiers.get(0).isForked();
+        this.currentSources = Collections.singletonList(source);
+    }
+
+    /**
+     * Continues this execution until it finishes, or either limit is reached.
+     *
+     * <p>At least one operation is always run, so that every call makes progress. The time limit is only checked
+     * between operations, so a single slow command can overrun it.</p>
+     *
+     * @param maxOperations the most operations to run before pausing
+     * @param maxNanos the most time to spend before pausing, or {@link Long#MAX_VALUE} for no time limit
+     * @return whether the execution has finished
+     * @throws CommandSyntaxException if a command failed outside of a fork, which also finishes the execution
+     */
+    public boolean run(final int maxOperations, final long maxNanos) throws CommandSyntaxException {
+        final boolean timed = maxNanos != Long.MAX_VALUE;
+        final long start = timed ? System.nanoTime() : 0;
+        int operations = 0;
+        while (!done) {
+            step();
+            operations++;
+            if (operations >= maxOperations || (timed && System.nanoTime() - start >= maxNanos)) {
+                break;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Runs this execution to the end.
+     *
+     * @return the result of the command, or the amount of successful commands if it forked
+     * @throws CommandSyntaxException if a command failed outside of a fork
+     * @throws ArithmeticException if the total doesn't fit an {@code int} under {@link ResultOverflowPolicy#FAIL}
+     */
+    public int runToCompletion() throws CommandSyntaxException {
+        run(Integer.MAX_VALUE, Long.MAX_VALUE);
+        return getResult();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Gets the result of a finished execution.
+     *
+     * @return the result of the command, or the amount of successful commands if it forked
+     * @throws IllegalStateException if the execution hasn't finished
+     * @throws ArithmeticException if the total doesn't fit an {@code int} under {@link ResultOverflowPolicy#FAIL}
+     */
+    public int getResult() {
+        if (!done) {
+            throw new IllegalStateException("Execution has not finished yet");
+        }
+        return overflowPolicy.toInt(result);
+    }
+
+    private void step() throws CommandSyntaxException {
+        final S source = currentSources.get(index++);
+        if (stage == modifiers.size()) {
+            try {
+                result += ContextChain.runExecutable(executable, source, resultConsumer, forkedMode, metrics);
+            } catch (final CommandSyntaxException | RuntimeException ex) {
+                finish();
+                throw ex;
+            }
+            if (index == currentSources.size()) {
+                finish();
+            }
+            return;
+        }
+
+        try {
+            nextSources.addAll(ContextChain.runModifier(modifiers.get(stage), source, resultConsumer, forkedMode, metrics));
+        } catch (final CommandSyntaxException | RuntimeException ex) {
+            finish();
+            throw ex;
+        }
+        if (index < currentSources.size()) {
+            return;
+        }
+
+        if (nextSources.isEmpty()) {
+            finish();
+            return;
+        }
+        resultConsumer.onStageComplete();
+        currentSources = nextSources;
+        nextSources = new ArrayList<>();
+        index = 0;
+        stage++;
+        if (stage < modifiers.size()) {
+            forkedMode |= modifiers.get(stage).isForked();
+        }
+    }
+
+    private void finish() {
+        done = true;
+        resultConsumer.onExecuteComplete();
+    }
+}
@@ -4,4 +4,7 @@
 package com.mojang.brigadier.exceptions;
 
 public interface CommandExceptionType {
+    default StackTracePolicy getStackTracePolicy() {
+        return StackTracePolicy.GLOBAL;
+    }
 }
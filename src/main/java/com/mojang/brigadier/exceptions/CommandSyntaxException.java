@@ -5,35 +5,62 @@ package com.mojang.brigadier.exceptions;
 
 import com.mojang.brigadier.Message;
 
+import java.util.function.Supplier;
+
 public class CommandSyntaxException extends Exception {
     public static final int CONTEXT_AMOUNT = 10;
+    /**
+     * Whether exceptions capture stack traces, for types with the {@link StackTracePolicy#GLOBAL} policy.
+     *
+     * @see CommandExceptionType#getStackTracePolicy()
+     */
     public static boolean ENABLE_COMMAND_STACK_TRACES = true;
     public static BuiltInExceptionProvider BUILT_IN_EXCEPTIONS = new BuiltInExceptions();
 
     private final CommandExceptionType type;
-    private final Message message;
+    private final Supplier<Message> messageSupplier;
+    private Message message;
     private final String input;
     private final int cursor;
 
     public CommandSyntaxException(final CommandExceptionType type, final Message message) {
-        super(message.getString(), null, ENABLE_COMMAND_STACK_TRACES, ENABLE_COMMAND_STACK_TRACES);
-        this.type = type;
-        this.message = message;
-        this.input = null;
-        this.cursor = -1;
+        this(type, message, null, -1);
     }
 
     public CommandSyntaxException(final CommandExceptionType type, final Message message, final String input, final int cursor) {
-        super(message.getString(), null, ENABLE_COMMAND_STACK_TRACES, ENABLE_COMMAND_STACK_TRACES);
+        this(type, message, null, input, cursor, isStackTraceEnabled(type));
+    }
+
+    CommandSyntaxException(final CommandExceptionType type, final Message message, final String input, final int cursor, final boolean stackTrace) {
+        this(type, message, null, input, cursor, stackTrace);
+    }
+
+    /**
+     * Creates an exception whose message is only built once it's asked for, as most exceptions thrown while parsing are
+     * discarded without ever being shown.
+     */
+    CommandSyntaxException(final CommandExceptionType type, final Supplier<Message> message, final String input, final int cursor) {
+        this(type, null, message, input, cursor, isStackTraceEnabled(type));
+    }
+
+    private CommandSyntaxException(final CommandExceptionType type, final Message message, final Supplier<Message> messageSupplier, final String input, final int cursor, final boolean stackTrace) {
+        // The message is built on demand by getMessage, rather than given to Throwable up front
+        super(null, null, stackTrace, stackTrace);
         this.type = type;
         this.message = message;
+        this.messageSupplier = messageSupplier;
         this.input = input;
         this.cursor = cursor;
     }
 
+    private static boolean isStackTraceEnabled(final CommandExceptionType type) {
+        final StackTracePolicy policy = type == null ? null : type.getStackTracePolicy();
+        return policy == null ? ENABLE_COMMAND_STACK_TRACES : policy.isEnabled();
+    }
+
     @Override
     public String getMessage() {
-        String message = this.message.getString();
+        String message = getRawMessage().getString();
         final String context = getContext();
         if (context != null) {
             message += " at position " + cursor + ": " + context;
@@ -42,6 +69,11 @@ public class CommandSyntaxException extends Exception {
     }
 
     public Message getRawMessage() {
+        Message message = this.message;
+        if (message == null) {
+            // Racing threads may build it more than once, which is harmless as the function is given the same arguments
+            message = this.message = messageSupplier.get();
+        }
         return message;
     }
 
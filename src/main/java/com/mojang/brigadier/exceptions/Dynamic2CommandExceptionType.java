@@ -8,17 +8,28 @@ import com.mojang.brigadier.Message;
 
 public class Dynamic2CommandExceptionType implements CommandExceptionType {
     private final Function function;
+    private final StackTracePolicy stackTracePolicy;
 
     public Dynamic2CommandExceptionType(final Function function) {
+        this(function, StackTracePolicy.GLOBAL);
+    }
+
+    public Dynamic2CommandExceptionType(final Function function, final StackTracePolicy stackTracePolicy) {
         this.function = function;
+        this.stackTracePolicy = stackTracePolicy;
+    }
+
+    @Override
+    public StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
     }
 
     public CommandSyntaxException create(final Object a, final Object b) {
-        return new CommandSyntaxException(this, function.apply(a, b));
+        return new CommandSyntaxException(this, () -> function.apply(a, b), null, -1);
     }
 
     public CommandSyntaxException createWithContext(final ImmutableStringReader reader, final Object a, final Object b) {
-        return new CommandSyntaxException(this, function.apply(a, b), reader.getString(), reader.getCursor());
+        return new CommandSyntaxException(this, () -> function.apply(a, b), reader.getString(), reader.getCursor());
     }
 
     public interface Function {
@@ -8,17 +8,28 @@ import com.mojang.brigadier.Message;
 
 public class Dynamic4CommandExceptionType implements CommandExceptionType {
     private final Function function;
+    private final StackTracePolicy stackTracePolicy;
 
     public Dynamic4CommandExceptionType(final Function function) {
+        this(function, StackTracePolicy.GLOBAL);
+    }
+
+    public Dynamic4CommandExceptionType(final Function function, final StackTracePolicy stackTracePolicy) {
         this.function = function;
+        this.stackTracePolicy = stackTracePolicy;
+    }
+
+    @Override
+    public StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
     }
 
     public CommandSyntaxException create(final Object a, final Object b, final Object c, final Object d) {
-        return new CommandSyntaxException(this, function.apply(a, b, c, d));
+        return new CommandSyntaxException(this, () -> function.apply(a, b, c, d), null, -1);
     }
 
     public CommandSyntaxException createWithContext(final ImmutableStringReader reader, final Object a, final Object b, final Object c, final Object d) {
-        return new CommandSyntaxException(this, function.apply(a, b, c, d), reader.getString(), reader.getCursor());
+        return new CommandSyntaxException(this, () -> function.apply(a, b, c, d), reader.getString(), reader.getCursor());
     }
 
     public interface Function {
@@ -10,16 +10,27 @@ import java.util.function.Function;
 
 public class DynamicCommandExceptionType implements CommandExceptionType {
     private final Function<Object, Message> function;
+    private final StackTracePolicy stackTracePolicy;
 
     public DynamicCommandExceptionType(final Function<Object, Message> function) {
+        this(function, StackTracePolicy.GLOBAL);
+    }
+
+    public DynamicCommandExceptionType(final Function<Object, Message> function, final StackTracePolicy stackTracePolicy) {
         this.function = function;
+        this.stackTracePolicy = stackTracePolicy;
+    }
+
+    @Override
+    public StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
     }
 
     public CommandSyntaxException create(final Object arg) {
-        return new CommandSyntaxException(this, function.apply(arg));
+        return new CommandSyntaxException(this, () -> function.apply(arg), null, -1);
     }
 
     public CommandSyntaxException createWithContext(final ImmutableStringReader reader, final Object arg) {
-        return new CommandSyntaxException(this, function.apply(arg), reader.getString(), reader.getCursor());
+        return new CommandSyntaxException(this, () -> function.apply(arg), reader.getString(), reader.getCursor());
     }
 }
@@ -8,17 +8,28 @@ import com.mojang.brigadier.Message;
 
 public class DynamicNCommandExceptionType implements CommandExceptionType {
     private final Function function;
+    private final StackTracePolicy stackTracePolicy;
 
     public DynamicNCommandExceptionType(final Function function) {
+        this(function, StackTracePolicy.GLOBAL);
+    }
+
+    public DynamicNCommandExceptionType(final Function function, final StackTracePolicy stackTracePolicy) {
         this.function = function;
+        this.stackTracePolicy = stackTracePolicy;
+    }
+
+    @Override
+    public StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
     }
 
     public CommandSyntaxException create(final Object a, final Object... args) {
-        return new CommandSyntaxException(this, function.apply(args));
+        return new CommandSyntaxException(this, () -> function.apply(args), null, -1);
     }
 
     public CommandSyntaxException createWithContext(final ImmutableStringReader reader, final Object... args) {
-        return new CommandSyntaxException(this, function.apply(args), reader.getString(), reader.getCursor());
+        return new CommandSyntaxException(this, () -> function.apply(args), reader.getString(), reader.getCursor());
     }
 
     public interface Function {
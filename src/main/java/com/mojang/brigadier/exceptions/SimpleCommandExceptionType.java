@@ -8,15 +8,45 @@ import com.mojang.brigadier.Message;
 
 public class SimpleCommandExceptionType implements CommandExceptionType {
     private final Message message;
+    private final StackTracePolicy stackTracePolicy;
+    private CommandSyntaxException preallocated;
 
     public SimpleCommandExceptionType(final Message message) {
+        this(message, StackTracePolicy.GLOBAL);
+    }
+
+    public SimpleCommandExceptionType(final Message message, final StackTracePolicy stackTracePolicy) {
         this.message = message;
+        this.stackTracePolicy = stackTracePolicy;
+    }
+
+    @Override
+    public StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
     }
 
     public CommandSyntaxException create() {
         return new CommandSyntaxException(this, message);
     }
 
+    /**
+     * Gets a single shared exception of this type, without context or a stack trace.
+     *
+     * <p>This costs nothing to throw, which suits speculative branches where the exception is only a signal to try
+     * something else and is then discarded. It can't tell the user where the input went wrong, so any exception that
+     * may be shown should come from {@link #createWithContext(ImmutableStringReader)} instead.</p>
+     *
+     * @return the same exception on every call
+     */
+    public CommandSyntaxException getPreallocated() {
+        CommandSyntaxException preallocated = this.preallocated;
+        if (preallocated == null) {
+            // Racing threads may create more than one, which is harmless as they're all alike
+            preallocated = this.preallocated = new CommandSyntaxException(this, message, null, -1, false);
+        }
+        return preallocated;
+    }
+
     public CommandSyntaxException createWithContext(final ImmutableStringReader reader) {
         return new CommandSyntaxException(this, message, reader.getString(), reader.getCursor());
     }
@@ -0,0 +1,31 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.exceptions;
+
+/**
+ * Decides whether a {@link CommandSyntaxException} captures the stack trace it was created at.
+ *
+ * <p>Capturing the stack is by far the most expensive part of creating an exception. Types thrown while speculatively
+ * trying branches that are expected to fail, such as every argument node tried before the one that matches, are best
+ * left {@link #NEVER}.</p>
+ */
+public enum StackTracePolicy {
+    /**
+     * Follows {@link CommandSyntaxException#ENABLE_COMMAND_STACK_TRACES}.
+     */
+    GLOBAL,
+    ALWAYS,
+    NEVER;
+
+    public boolean isEnabled() {
+        switch (this) {
+            case ALWAYS:
+                return true;
+            case NEVER:
+                return false;
+            default:
+                return CommandSyntaxException.ENABLE_COMMAND_STACK_TRACES;
+        }
+    }
+}
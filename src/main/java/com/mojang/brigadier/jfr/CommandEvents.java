@@ -0,0 +1,112 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.jfr;
+
+import com.mojang.brigadier.ParseObserver;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.context.CommandContextBuilder;
+import com.mojang.brigadier.context.ParsedCommandNode;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.List;
+
+/**
+ * Emits JDK Flight Recorder events for parsing, suggesting and executing commands, where the runtime supports it.
+ *
+ * <p>The events are {@code com.mojang.brigadier.CommandParse}, {@code CommandSuggest} and {@code CommandExecute}, in
+ * the "Brigadier" category. On a runtime without {@code jdk.jfr}, and while a recording doesn't enable an event, every
+ * {@code begin} method returns {@code null} and nothing else is done.</p>
+ */
+public final class CommandEvents {
+    private static final boolean AVAILABLE = findFlightRecorder();
+
+    private CommandEvents() {
+    }
+
+    private static boolean findFlightRecorder() {
+        try {
+            Class.forName("jdk.jfr.Event", false, CommandEvents.class.getClassLoader());
+            JfrEvents.beginParse();
+            return true;
+        } catch (final ClassNotFoundException | LinkageError ignored) {
+            return false;
+        }
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static <S> ParseEvent<S> beginParse() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        final Object event = JfrEvents.beginParse();
+        return event == null ? null : new ParseEvent<>(event);
+    }
+
+    public static Object beginSuggest() {
+        return AVAILABLE ? JfrEvents.beginSuggest() : null;
+    }
+
+    public static <S> void commitSuggest(final Object event, final CommandContextBuilder<S> context, final int inputLength, final int cursor, final int suggestions) {
+        JfrEvents.commitSuggest(event, nodePath(context), inputLength, cursor, suggestions);
+    }
+
+    public static Object beginExecute() {
+        return AVAILABLE ? JfrEvents.beginExecute() : null;
+    }
+
+    public static <S> void commitExecute(final Object event, final CommandContext<S> context, final int result, final boolean failed) {
+        final StringBuilder path = new StringBuilder();
+        for (CommandContext<S> current = context; current != null; current = current.getChild()) {
+            appendNames(path, current.getNodes());
+        }
+        JfrEvents.commitExecute(event, path.toString(), context.getInput().length(), result, failed);
+    }
+
+    private static <S> String nodePath(final CommandContextBuilder<S> context) {
+        final StringBuilder path = new StringBuilder();
+        for (CommandContextBuilder<S> current = context; current != null; current = current.getChild()) {
+            appendNames(path, current.getNodes());
+        }
+        return path.toString();
+    }
+
+    private static <S> void appendNames(final StringBuilder path, final List<ParsedCommandNode<S>> nodes) {
+        for (final ParsedCommandNode<S> node : nodes) {
+            if (path.length() > 0) {
+                path.append(' ');
+            }
+            path.append(node.getNode().getName());
+        }
+    }
+
+    /**
+     * An enabled parse event, counting the branches tried until it's committed.
+     */
+    public static final class ParseEvent<S> implements ParseObserver<S> {
+        private final Object event;
+        private int branches;
+        private int exceptions;
+
+        private ParseEvent(final Object event) {
+            this.event = event;
+        }
+
+        @Override
+        public void onParse(final CommandNode<S> node, final int start, final int end, final CommandSyntaxException exception, final long nanos) {
+            branches++;
+            if (exception != null) {
+                exceptions++;
+            }
+        }
+
+        public void commit(final ParseResults<S> parse) {
+            JfrEvents.commitParse(event, nodePath(parse.getContext()), parse.getReader().getTotalLength(), branches, exceptions, !parse.getReader().canRead());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.mojang.brigadier.CommandExecute")
+@Label("Command Execute")
+@Category("Brigadier")
+@Description("Execution of a parsed command by a CommandDispatcher, including every redirect and fork")
+@StackTrace(false)
+class CommandExecuteEvent extends Event {
+    @Label("Node Path")
+    @Description("Names of the nodes executed, separated by spaces")
+    String nodePath;
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Result")
+    int result;
+
+    @Label("Failed")
+    @Description("Whether the command threw instead of completing")
+    boolean failed;
+}
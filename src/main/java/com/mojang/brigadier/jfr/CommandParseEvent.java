@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.mojang.brigadier.CommandParse")
+@Label("Command Parse")
+@Category("Brigadier")
+@Description("Parsing of a command by a CommandDispatcher")
+@StackTrace(false)
+class CommandParseEvent extends Event {
+    @Label("Node Path")
+    @Description("Names of the nodes matched, separated by spaces")
+    String nodePath;
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Branches Explored")
+    int branches;
+
+    @Label("Exceptions Created")
+    int exceptions;
+
+    @Label("Complete")
+    @Description("Whether the whole input was parsed")
+    boolean complete;
+}
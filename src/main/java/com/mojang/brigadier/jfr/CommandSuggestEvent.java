@@ -0,0 +1,31 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.mojang.brigadier.CommandSuggest")
+@Label("Command Suggest")
+@Category("Brigadier")
+@Description("Gathering of completion suggestions by a CommandDispatcher, until the last provider completed")
+@StackTrace(false)
+class CommandSuggestEvent extends Event {
+    @Label("Node Path")
+    @Description("Names of the nodes matched before the cursor, separated by spaces")
+    String nodePath;
+
+    @Label("Input Length")
+    int inputLength;
+
+    @Label("Cursor")
+    int cursor;
+
+    @Label("Suggestions")
+    int suggestions;
+}
@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * The only class touching {@code jdk.jfr}, and only ever loaded once it's known to exist. Events are passed around as
+ * plain objects so that no other class needs {@code jdk.jfr} to load.
+ */
+final class JfrEvents {
+    // Checked before creating an event, so that nothing is allocated while no recording enables it
+    private static final EventType PARSE = EventType.getEventType(CommandParseEvent.class);
+    private static final EventType SUGGEST = EventType.getEventType(CommandSuggestEvent.class);
+    private static final EventType EXECUTE = EventType.getEventType(CommandExecuteEvent.class);
+
+    private JfrEvents() {
+    }
+
+    static Object beginParse() {
+        if (!PARSE.isEnabled()) {
+            return null;
+        }
+        final CommandParseEvent event = new CommandParseEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitParse(final Object token, final String nodePath, final int inputLength, final int branches, final int exceptions, final boolean complete) {
+        final CommandParseEvent event = (CommandParseEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.nodePath = nodePath;
+            event.inputLength = inputLength;
+            event.branches = branches;
+            event.exceptions = exceptions;
+            event.complete = complete;
+            event.commit();
+        }
+    }
+
+    static Object beginSuggest() {
+        if (!SUGGEST.isEnabled()) {
+            return null;
+        }
+        final CommandSuggestEvent event = new CommandSuggestEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitSuggest(final Object token, final String nodePath, final int inputLength, final int cursor, final int suggestions) {
+        final CommandSuggestEvent event = (CommandSuggestEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.nodePath = nodePath;
+            event.inputLength = inputLength;
+            event.cursor = cursor;
+            event.suggestions = suggestions;
+            event.commit();
+        }
+    }
+
+    static Object beginExecute() {
+        if (!EXECUTE.isEnabled()) {
+            return null;
+        }
+        final CommandExecuteEvent event = new CommandExecuteEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commitExecute(final Object token, final String nodePath, final int inputLength, final int result, final boolean failed) {
+        final CommandExecuteEvent event = (CommandExecuteEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.nodePath = nodePath;
+            event.inputLength = inputLength;
+            event.result = result;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.metrics;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+/**
+ * Receives measurements of the nodes of a command tree, as they are parsed and executed.
+ *
+ * <p>Implementations are called from whichever threads parse and execute commands, often concurrently, and should
+ * be cheap and thread-safe.</p>
+ *
+ * @see com.mojang.brigadier.CommandDispatcher#setMetrics(CommandMetrics)
+ * @see CommandMetricsRecorder
+ */
+public interface CommandMetrics<S> {
+    /**
+     * Called after trying to parse a node.
+     *
+     * @param node the node that was tried
+     * @param success whether the input matched the node
+     */
+    void recordParse(CommandNode<S> node, boolean success);
+
+    /**
+     * Called after running the redirect modifier of a node for one source.
+     *
+     * @param node the node redirecting
+     * @param success whether the modifier completed without throwing
+     * @param nanos how long the modifier took
+     */
+    void recordRedirect(CommandNode<S> node, boolean success, long nanos);
+
+    /**
+     * Called after running the command of a node for one source.
+     *
+     * @param node the node executed
+     * @param success whether the command completed without throwing
+     * @param nanos how long the command took
+     */
+    void recordExecution(CommandNode<S> node, boolean success, long nanos);
+}
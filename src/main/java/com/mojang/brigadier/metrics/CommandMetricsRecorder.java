@@ -0,0 +1,147 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.metrics;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps counters and latency histograms per node, in striped counters so that recording scales under contention.
+ */
+public class CommandMetricsRecorder<S> implements CommandMetrics<S> {
+    private static final int BUCKETS = 64;
+
+    // Reused for every lookup on a thread, so that recording doesn't allocate a key each time
+    private static final ThreadLocal<NodeKey> LOOKUP_KEY = ThreadLocal.withInitial(NodeKey::new);
+
+    private final ConcurrentMap<NodeKey, NodeMetrics<S>> metrics = new ConcurrentHashMap<>();
+
+    private NodeMetrics<S> find(final CommandNode<S> node) {
+        final NodeKey key = LOOKUP_KEY.get();
+        key.node = node;
+        try {
+            return metrics.get(key);
+        } finally {
+            key.node = null;
+        }
+    }
+
+    private NodeMetrics<S> get(final CommandNode<S> node) {
+        final NodeMetrics<S> existing = find(node);
+        if (existing != null) {
+            return existing;
+        }
+        final NodeKey key = new NodeKey();
+        key.node = node;
+        return metrics.computeIfAbsent(key, k -> new NodeMetrics<>(node));
+    }
+
+    @Override
+    public void recordParse(final CommandNode<S> node, final boolean success) {
+        final NodeMetrics<S> nodeMetrics = get(node);
+        nodeMetrics.parseAttempts.increment();
+        if (!success) {
+            nodeMetrics.parseFailures.increment();
+        }
+    }
+
+    @Override
+    public void recordRedirect(final CommandNode<S> node, final boolean success, final long nanos) {
+        final NodeMetrics<S> nodeMetrics = get(node);
+        nodeMetrics.redirects.increment();
+        if (!success) {
+            nodeMetrics.redirectFailures.increment();
+        }
+        nodeMetrics.recordLatency(nanos);
+    }
+
+    @Override
+    public void recordExecution(final CommandNode<S> node, final boolean success, final long nanos) {
+        final NodeMetrics<S> nodeMetrics = get(node);
+        nodeMetrics.executions.increment();
+        if (!success) {
+            nodeMetrics.executionFailures.increment();
+        }
+        nodeMetrics.recordLatency(nanos);
+    }
+
+    /**
+     * Takes a snapshot of every node measured so far.
+     *
+     * <p>Each counter is read separately while recording may continue, so counters of the same node might be off from
+     * each other by the operations in flight.</p>
+     *
+     * @return the measurements, one per node
+     */
+    public List<NodeMetricsSnapshot<S>> snapshot() {
+        final List<NodeMetricsSnapshot<S>> result = new ArrayList<>(metrics.size());
+        for (final NodeMetrics<S> nodeMetrics : metrics.values()) {
+            result.add(nodeMetrics.snapshot());
+        }
+        return result;
+    }
+
+    public NodeMetricsSnapshot<S> snapshot(final CommandNode<S> node) {
+        final NodeMetrics<S> nodeMetrics = find(node);
+        return nodeMetrics == null ? null : nodeMetrics.snapshot();
+    }
+
+    public void reset() {
+        metrics.clear();
+    }
+
+    private static final class NodeMetrics<S> {
+        private final CommandNode<S> node;
+        private final LongAdder parseAttempts = new LongAdder();
+        private final LongAdder parseFailures = new LongAdder();
+        private final LongAdder redirects = new LongAdder();
+        private final LongAdder redirectFailures = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder executionFailures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] latencyBuckets = new LongAdder[BUCKETS];
+
+        private NodeMetrics(final CommandNode<S> node) {
+            this.node = node;
+            for (int i = 0; i < BUCKETS; i++) {
+                latencyBuckets[i] = new LongAdder();
+            }
+        }
+
+        private void recordLatency(final long nanos) {
+            final long clamped = Math.max(0, nanos);
+            totalNanos.add(clamped);
+            latencyBuckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(clamped))].increment();
+        }
+
+        private NodeMetricsSnapshot<S> snapshot() {
+            final long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = latencyBuckets[i].sum();
+            }
+            return new NodeMetricsSnapshot<>(node, parseAttempts.sum(), parseFailures.sum(), redirects.sum(), redirectFailures.sum(), executions.sum(), executionFailures.sum(), totalNanos.sum(), buckets);
+        }
+    }
+
+    private static final class NodeKey {
+        // Only ever changed on lookup keys, never on those stored in the map
+        private CommandNode<?> node;
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof NodeKey && ((NodeKey) o).node == node;
+        }
+
+        @Override
+        public int hashCode() {
+            // Identity, as CommandNode#hashCode walks the whole subtree
+            return System.identityHashCode(node);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.metrics;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+/**
+ * The measurements of a single node at some point in time.
+ *
+ * <p>Latencies of redirects and executions are kept together in a histogram with power of two buckets: bucket
+ * {@code i} counts those taking less than {@code 2^i} nanoseconds, but at least {@code 2^(i-1)}.</p>
+ */
+public class NodeMetricsSnapshot<S> {
+    private final CommandNode<S> node;
+    private final long parseAttempts;
+    private final long parseFailures;
+    private final long redirects;
+    private final long redirectFailures;
+    private final long executions;
+    private final long executionFailures;
+    private final long totalNanos;
+    private final long[] latencyBuckets;
+
+    public NodeMetricsSnapshot(final CommandNode<S> node, final long parseAttempts, final long parseFailures, final long redirects, final long redirectFailures, final long executions, final long executionFailures, final long totalNanos, final long[] latencyBuckets) {
+        this.node = node;
+        this.parseAttempts = parseAttempts;
+        this.parseFailures = parseFailures;
+        this.redirects = redirects;
+        this.redirectFailures = redirectFailures;
+        this.executions = executions;
+        this.executionFailures = executionFailures;
+        this.totalNanos = totalNanos;
+        this.latencyBuckets = latencyBuckets;
+    }
+
+    public CommandNode<S> getNode() {
+        return node;
+    }
+
+    public long getParseAttempts() {
+        return parseAttempts;
+    }
+
+    public long getParseFailures() {
+        return parseFailures;
+    }
+
+    public long getRedirects() {
+        return redirects;
+    }
+
+    public long getRedirectFailures() {
+        return redirectFailures;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public long getExecutionFailures() {
+        return executionFailures;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long[] getLatencyBuckets() {
+        return latencyBuckets.clone();
+    }
+
+    public double getParseFailureRate() {
+        return parseAttempts == 0 ? 0 : (double) parseFailures / parseAttempts;
+    }
+
+    public double getExecutionFailureRate() {
+        return executions == 0 ? 0 : (double) executionFailures / executions;
+    }
+
+    /**
+     * Estimates a percentile of the latency of this node, to within a factor of two.
+     *
+     * @param percentile between 0 and 1
+     * @return the upper bound, in nanoseconds, of the bucket holding the given percentile, or 0 if nothing ran
+     */
+    public long getLatencyPercentile(final double percentile) {
+        long count = 0;
+        for (final long bucket : latencyBuckets) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            seen += latencyBuckets[i];
+            if (seen >= target) {
+                return i >= 63 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeMetricsSnapshot{" +
+            "node=" + node +
+            ", parseAttempts=" + parseAttempts +
+            ", parseFailures=" + parseFailures +
+            ", redirects=" + redirects +
+            ", redirectFailures=" + redirectFailures +
+            ", executions=" + executions +
+            ", executionFailures=" + executionFailures +
+            ", totalNanos=" + totalNanos +
+            '}';
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.suggestion;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SuggestionCache<S> {
+    private final int maximumSize;
+    private final Map<Key, Entry> entries;
+
+    @SuppressWarnings("serial")
+    public SuggestionCache(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+                return size() > SuggestionCache.this.maximumSize;
+            }
+        };
+    }
+
+    public synchronized Suggestions get(final CommandNode<S> parent, final int start, final String remaining) {
+        final Key key = new Key(parent, start, remaining);
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // Suggestions only depend on the direct children, which can only ever be added to - never replaced or removed
+        if (entry.childCount != parent.getChildren().size()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.suggestions;
+    }
+
+    public synchronized void put(final CommandNode<S> parent, final int start, final String remaining, final int childCount, final Suggestions suggestions) {
+        entries.put(new Key(parent, start, remaining), new Entry(childCount, suggestions));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    private static final class Key {
+        private final CommandNode<?> node;
+        private final int start;
+        private final String remaining;
+        private final int hash;
+
+        private Key(final CommandNode<?> node, final int start, final String remaining) {
+            this.node = node;
+            this.start = start;
+            this.remaining = remaining;
+            // Identity, as CommandNode#hashCode walks the whole subtree
+            this.hash = 31 * (31 * System.identityHashCode(node) + start) + remaining.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            final Key that = (Key) o;
+            return node == that.node && start == that.start && remaining.equals(that.remaining);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        private final int childCount;
+        private final Suggestions suggestions;
+
+        private Entry(final int childCount, final Suggestions suggestions) {
+            this.childCount = childCount;
+            this.suggestions = suggestions;
+        }
+    }
+}
@@ -11,4 +11,20 @@ import java.util.concurrent.CompletableFuture;
 @FunctionalInterface
 public interface SuggestionProvider<S> {
     CompletableFuture<Suggestions> getSuggestions(final CommandContext<S> context, final SuggestionsBuilder builder) throws CommandSyntaxException;
+
+    /**
+     * Whether {@link #getSuggestions(CommandContext, SuggestionsBuilder)} depends on nothing but
+     * {@link SuggestionsBuilder#getRemaining()}, so its result can be shared between sources and requests.
+     */
+    default boolean isSuggestionCacheable() {
+        return false;
+    }
+
+    /**
+     * Whether, for any remaining input extending a previous one, the suggestions are exactly the previous suggestions
+     * whose text starts with the new remaining input (ignoring case), so they can be narrowed instead of recomputed.
+     */
+    default boolean isSuggestionMonotone() {
+        return false;
+    }
 }
@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.suggestion;
+
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class SuggestionSnapshot<S> {
+    private final CommandNode<S> parent;
+    private final int childCount;
+    private final boolean monotone;
+    private final int start;
+    private final String remaining;
+    private final Suggestions suggestions;
+
+    public SuggestionSnapshot(final CommandNode<S> parent, final int childCount, final boolean monotone, final int start, final String remaining, final Suggestions suggestions) {
+        this.parent = parent;
+        this.childCount = childCount;
+        this.monotone = monotone;
+        this.start = start;
+        this.remaining = remaining;
+        this.suggestions = suggestions;
+    }
+
+    public CommandNode<S> getParent() {
+        return parent;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public String getRemaining() {
+        return remaining;
+    }
+
+    public Suggestions getSuggestions() {
+        return suggestions;
+    }
+
+    public boolean canNarrow(final CommandNode<S> parent, final int start, final String remaining) {
+        if (!monotone || this.parent != parent || this.start != start || !remaining.startsWith(this.remaining)) {
+            return false;
+        }
+        if (parent.getChildren().size() != childCount) {
+            return false;
+        }
+        // Anything replacing input before the argument can't be filtered by the new remaining text alone
+        return suggestions.isEmpty() || suggestions.getRange().getStart() == start;
+    }
+
+    public SuggestionSnapshot<S> narrow(final String input, final String remaining) {
+        final String remainingLowerCase = remaining.toLowerCase(Locale.ROOT);
+        final StringRange range = StringRange.between(start, start + remaining.length());
+        final List<Suggestion> result = new ArrayList<>();
+        for (final Suggestion suggestion : suggestions.getList()) {
+            final String text = suggestion.getText();
+            if (!text.toLowerCase(Locale.ROOT).startsWith(remainingLowerCase)) {
+                continue;
+            }
+            if (suggestion instanceof IntegerSuggestion) {
+                result.add(new IntegerSuggestion(range, ((IntegerSuggestion) suggestion).getValue(), suggestion.getTooltip()));
+            } else if (!text.equals(remaining)) {
+                result.add(new Suggestion(range, text, suggestion.getTooltip()));
+            }
+        }
+        return new SuggestionSnapshot<>(parent, childCount, true, start, remaining, Suggestions.create(input, result));
+    }
+}
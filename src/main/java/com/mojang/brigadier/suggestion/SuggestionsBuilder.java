@@ -13,22 +13,23 @@ import java.util.concurrent.CompletableFuture;
 
 public class SuggestionsBuilder {
     private final String input;
-    private final String inputLowerCase;
     private final int start;
-    private final String remaining;
-    private final String remainingLowerCase;
+    // Shared with every builder created through restart, so siblings only compute these once
+    private final Remaining remaining;
     private final List<Suggestion> result = new ArrayList<>();
 
     public SuggestionsBuilder(final String input, final String inputLowerCase, final int start) {
-        this.input = input;
-        this.inputLowerCase = inputLowerCase;
-        this.start = start;
-        this.remaining = input.substring(start);
-        this.remainingLowerCase = inputLowerCase.substring(start);
+        this(new Remaining(new Input(input, inputLowerCase), start));
     }
 
     public SuggestionsBuilder(final String input, final int start) {
-        this(input, input.toLowerCase(Locale.ROOT), start);
+        this(new Remaining(new Input(input, null), start));
+    }
+
+    private SuggestionsBuilder(final Remaining remaining) {
+        this.input = remaining.input.value;
+        this.start = remaining.start;
+        this.remaining = remaining;
     }
 
     public String getInput() {
@@ -40,11 +41,11 @@ public class SuggestionsBuilder {
     }
 
     public String getRemaining() {
-        return remaining;
+        return remaining.getValue();
     }
 
     public String getRemainingLowerCase() {
-        return remainingLowerCase;
+        return remaining.getLowerCase();
     }
 
     public Suggestions build() {
@@ -56,7 +57,7 @@ public class SuggestionsBuilder {
     }
 
     public SuggestionsBuilder suggest(final String text) {
-        if (text.equals(remaining)) {
+        if (text.equals(getRemaining())) {
             return this;
         }
         result.add(new Suggestion(StringRange.between(start, input.length()), text));
@@ -64,7 +65,7 @@ public class SuggestionsBuilder {
     }
 
     public SuggestionsBuilder suggest(final String text, final Message tooltip) {
-        if (text.equals(remaining)) {
+        if (text.equals(getRemaining())) {
             return this;
         }
         result.add(new Suggestion(StringRange.between(start, input.length()), text, tooltip));
@@ -87,10 +88,66 @@ public class SuggestionsBuilder {
     }
 
     public SuggestionsBuilder createOffset(final int start) {
-        return new SuggestionsBuilder(input, inputLowerCase, start);
+        if (start == this.start) {
+            return new SuggestionsBuilder(remaining);
+        }
+        return new SuggestionsBuilder(new Remaining(remaining.input, start));
     }
 
     public SuggestionsBuilder restart() {
-        return createOffset(start);
+        return new SuggestionsBuilder(remaining);
+    }
+
+    // Views are computed on first use; racing threads may compute them twice, but always to an equal string
+    private static final class Input {
+        private final String value;
+        private String lowerCase;
+
+        private Input(final String value, final String lowerCase) {
+            this.value = value;
+            this.lowerCase = lowerCase;
+        }
+
+        private String getLowerCase() {
+            String result = lowerCase;
+            if (result == null) {
+                result = value.toLowerCase(Locale.ROOT);
+                lowerCase = result;
+            }
+            return result;
+        }
+    }
+
+    private static final class Remaining {
+        private final Input input;
+        private final int start;
+        private String value;
+        private String lowerCase;
+
+        private Remaining(final Input input, final int start) {
+            if (start < 0 || start > input.value.length()) {
+                throw new StringIndexOutOfBoundsException(start);
+            }
+            this.input = input;
+            this.start = start;
+        }
+
+        private String getValue() {
+            String result = value;
+            if (result == null) {
+                result = input.value.substring(start);
+                value = result;
+            }
+            return result;
+        }
+
+        private String getLowerCase() {
+            String result = lowerCase;
+            if (result == null) {
+                result = input.getLowerCase().substring(start);
+                lowerCase = result;
+            }
+            return result;
+        }
     }
 }
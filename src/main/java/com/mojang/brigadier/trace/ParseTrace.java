@@ -0,0 +1,213 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.trace;
+
+import com.mojang.brigadier.ParseObserver;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the tree of branches explored while parsing a single command.
+ *
+ * <p>Pass a new instance to {@link com.mojang.brigadier.CommandDispatcher#parse(String, Object, ParseObserver)}, then
+ * {@link #render()} it or add it to a {@link ParseTraceReport}. A trace is not thread safe, and only holds one parse.</p>
+ */
+public class ParseTrace<S> implements ParseObserver<S> {
+    private final Deque<Attempt<S>> stack = new ArrayDeque<>();
+    private Attempt<S> root;
+
+    @Override
+    public void onParse(final CommandNode<S> node, final int start, final int end, final CommandSyntaxException exception, final long nanos) {
+        stack.peek().children.add(new Attempt<>(node, start, end, exception, nanos));
+    }
+
+    @Override
+    public void onParseChildren(final CommandNode<S> node, final int cursor) {
+        final Attempt<S> attempt;
+        if (stack.isEmpty()) {
+            if (root != null) {
+                throw new IllegalStateException("A trace can only record a single parse");
+            }
+            attempt = root = new Attempt<>(node, cursor, cursor, null, 0);
+        } else {
+            final List<Attempt<S>> siblings = stack.peek().children;
+            attempt = siblings.get(siblings.size() - 1);
+        }
+        attempt.childrenOf = node;
+        attempt.childrenStart = System.nanoTime();
+        stack.push(attempt);
+    }
+
+    @Override
+    public void onChildrenParsed(final CommandNode<S> node, final int potentials) {
+        final Attempt<S> attempt = stack.pop();
+        attempt.potentials = potentials;
+        attempt.childrenNanos = System.nanoTime() - attempt.childrenStart;
+    }
+
+    /**
+     * Gets the attempt standing for the root node, whose children are the first nodes tried.
+     *
+     * @return the root of the trace, or {@code null} if nothing was parsed yet
+     */
+    public Attempt<S> getRoot() {
+        return root;
+    }
+
+    /**
+     * Renders the trace as an indented tree, one attempt per line.
+     */
+    public String render() {
+        final StringBuilder result = new StringBuilder();
+        if (root != null) {
+            render(result, root, 0);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    private static <S> void render(final StringBuilder result, final Attempt<S> attempt, final int depth) {
+        for (int i = 0; i < depth; i++) {
+            result.append("  ");
+        }
+        result.append(describe(attempt.node));
+        result.append(" [").append(attempt.start).append(',').append(attempt.end).append(')');
+        if (attempt.exception != null) {
+            result.append(" failed: ").append(attempt.exception.getRawMessage().getString());
+        } else if (depth > 0) {
+            result.append(" ok");
+        }
+        if (depth > 0) {
+            result.append(' ').append(formatNanos(attempt.nanos));
+        }
+        if (attempt.childrenOf != null) {
+            if (attempt.childrenOf != attempt.node) {
+                result.append(" -> ").append(describe(attempt.childrenOf));
+            }
+            result.append(", ").append(attempt.children.size()).append(" tried, ").append(attempt.potentials).append(" potential");
+            if (attempt.potentials != 1) {
+                result.append('s');
+            }
+            result.append(" in ").append(formatNanos(attempt.childrenNanos));
+        }
+        result.append('\n');
+        for (final Attempt<S> child : attempt.children) {
+            render(result, child, depth + 1);
+        }
+    }
+
+    static String describe(final CommandNode<?> node) {
+        return node instanceof RootCommandNode ? "<root>" : node.getUsageText();
+    }
+
+    static String formatNanos(final long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(10)) {
+            return nanos + "ns";
+        }
+        if (nanos < TimeUnit.MILLISECONDS.toNanos(10)) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos) + "us";
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos) + "ms";
+    }
+
+    /**
+     * A single node tried while parsing, along with everything tried after it.
+     */
+    public static class Attempt<S> {
+        private final CommandNode<S> node;
+        private final int start;
+        private final int end;
+        private final CommandSyntaxException exception;
+        private final long nanos;
+        private final List<Attempt<S>> children = new ArrayList<>(1);
+        private CommandNode<S> childrenOf;
+        private long childrenStart;
+        private long childrenNanos;
+        private int potentials;
+
+        private Attempt(final CommandNode<S> node, final int start, final int end, final CommandSyntaxException exception, final long nanos) {
+            this.node = node;
+            this.start = start;
+            this.end = end;
+            this.exception = exception;
+            this.nanos = nanos;
+        }
+
+        public CommandNode<S> getNode() {
+            return node;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public boolean isSuccess() {
+            return exception == null;
+        }
+
+        public CommandSyntaxException getException() {
+            return exception;
+        }
+
+        /**
+         * Gets how long parsing this node itself took, without the nodes tried after it.
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Gets the node whose children were tried after this one, which is the target of its redirect if it has one.
+         *
+         * @return the node, or {@code null} if nothing was tried after this one
+         */
+        public CommandNode<S> getChildrenOf() {
+            return childrenOf;
+        }
+
+        public List<Attempt<S>> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        /**
+         * Gets how long trying every node after this one took in total.
+         */
+        public long getChildrenNanos() {
+            return childrenNanos;
+        }
+
+        /**
+         * Gets how many complete branches were found after this node, which had to be sorted to pick the best one.
+         */
+        public int getPotentials() {
+            return potentials;
+        }
+
+        public int getFailures() {
+            int failures = 0;
+            for (final Attempt<S> child : children) {
+                if (!child.isSuccess()) {
+                    failures++;
+                }
+            }
+            return failures;
+        }
+    }
+}
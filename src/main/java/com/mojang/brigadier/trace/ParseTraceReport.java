@@ -0,0 +1,153 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.trace;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates many {@link ParseTrace}s to find the nodes whose children are the most expensive to tell apart.
+ *
+ * <p>A node is counted as ambiguous each time more than one of its children was tried in a trace. This is usually
+ * caused by sibling argument nodes, which are all parsed in turn until one of them matches.</p>
+ */
+public class ParseTraceReport<S> {
+    private final Map<CommandNode<S>, AmbiguousNode<S>> nodes = new IdentityHashMap<>();
+    private long traces;
+
+    public synchronized void add(final ParseTrace<S> trace) {
+        if (trace.getRoot() == null) {
+            return;
+        }
+        traces++;
+        add(trace.getRoot());
+    }
+
+    private void add(final ParseTrace.Attempt<S> attempt) {
+        final List<ParseTrace.Attempt<S>> children = attempt.getChildren();
+        if (children.size() > 1) {
+            final AmbiguousNode<S> stats = nodes.computeIfAbsent(attempt.getChildrenOf(), AmbiguousNode::new);
+            stats.occurrences++;
+            stats.branches += children.size();
+            stats.failures += attempt.getFailures();
+            stats.potentials += attempt.getPotentials();
+            stats.totalNanos += attempt.getChildrenNanos();
+            for (final ParseTrace.Attempt<S> child : children) {
+                if (!child.isSuccess()) {
+                    stats.failedNanos += child.getNanos();
+                }
+            }
+        }
+        for (final ParseTrace.Attempt<S> child : children) {
+            add(child);
+        }
+    }
+
+    public synchronized long getTraces() {
+        return traces;
+    }
+
+    /**
+     * Gets the ambiguous nodes, most expensive first, by the total time taken to try their children.
+     *
+     * @param limit the maximum number of nodes to return
+     * @return a copy of the statistics of up to {@code limit} nodes
+     */
+    public synchronized List<AmbiguousNode<S>> getMostExpensive(final int limit) {
+        final List<AmbiguousNode<S>> result = new ArrayList<>(nodes.size());
+        for (final AmbiguousNode<S> node : nodes.values()) {
+            result.add(node.copy());
+        }
+        result.sort(Comparator.comparingLong((AmbiguousNode<S> node) -> node.totalNanos).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Renders the most expensive ambiguous nodes as a table, one node per line.
+     */
+    public String render(final int limit) {
+        final StringBuilder result = new StringBuilder();
+        for (final AmbiguousNode<S> node : getMostExpensive(limit)) {
+            result.append(ParseTrace.describe(node.getNode()))
+                .append(": ").append(ParseTrace.formatNanos(node.getTotalNanos()))
+                .append(" over ").append(node.getOccurrences()).append(" parses, ")
+                .append(node.getBranches()).append(" branches tried, ")
+                .append(node.getFailures()).append(" failed taking ").append(ParseTrace.formatNanos(node.getFailedNanos())).append(", ")
+                .append(node.getPotentials()).append(" potentials sorted\n");
+        }
+        return result.toString();
+    }
+
+    public synchronized void reset() {
+        nodes.clear();
+        traces = 0;
+    }
+
+    public static class AmbiguousNode<S> {
+        private final CommandNode<S> node;
+        private long occurrences;
+        private long branches;
+        private long failures;
+        private long potentials;
+        private long totalNanos;
+        private long failedNanos;
+
+        private AmbiguousNode(final CommandNode<S> node) {
+            this.node = node;
+        }
+
+        private AmbiguousNode<S> copy() {
+            final AmbiguousNode<S> result = new AmbiguousNode<>(node);
+            result.occurrences = occurrences;
+            result.branches = branches;
+            result.failures = failures;
+            result.potentials = potentials;
+            result.totalNanos = totalNanos;
+            result.failedNanos = failedNanos;
+            return result;
+        }
+
+        public CommandNode<S> getNode() {
+            return node;
+        }
+
+        /**
+         * Gets how many times more than one child of this node was tried.
+         */
+        public long getOccurrences() {
+            return occurrences;
+        }
+
+        public long getBranches() {
+            return branches;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getPotentials() {
+            return potentials;
+        }
+
+        /**
+         * Gets the total time taken to try the children of this node, including everything tried after them.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Gets the time spent parsing children that failed to match.
+         */
+        public long getFailedNanos() {
+            return failedNanos;
+        }
+    }
+}
@@ -72,6 +72,24 @@ public class ArgumentCommandNode<S, T> extends CommandNode<S> {
         }
     }
 
+    @Override
+    public boolean isSuggestionCacheable() {
+        if (customSuggestions == null) {
+            return type.isSuggestionCacheable();
+        } else {
+            return customSuggestions.isSuggestionCacheable();
+        }
+    }
+
+    @Override
+    public boolean isSuggestionMonotone() {
+        if (customSuggestions == null) {
+            return type.isSuggestionMonotone();
+        } else {
+            return customSuggestions.isSuggestionMonotone();
+        }
+    }
+
     @Override
     public RequiredArgumentBuilder<S, T> createBuilder() {
         final RequiredArgumentBuilder<S, T> builder = RequiredArgumentBuilder.argument(name, type);
@@ -14,9 +14,11 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -24,14 +26,28 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 public abstract class CommandNode<S> implements Comparable<CommandNode<S>> {
-    private final Map<String, CommandNode<S>> children = new LinkedHashMap<>();
-    private final Map<String, LiteralCommandNode<S>> literals = new LinkedHashMap<>();
-    private final Map<String, ArgumentCommandNode<S, ?>> arguments = new LinkedHashMap<>();
+    // Shared empty maps until the first child is added, as most nodes in a tree are leaves
+    private Map<String, CommandNode<S>> children = Collections.emptyMap();
+    private Map<String, LiteralCommandNode<S>> literals = Collections.emptyMap();
+    private Map<String, ArgumentCommandNode<S, ?>> arguments = Collections.emptyMap();
+    // The maps above are replaced as they grow, so callers get a view that always reads the current one
+    private final Collection<CommandNode<S>> childrenView = new AbstractCollection<CommandNode<S>>() {
+        @Override
+        public Iterator<CommandNode<S>> iterator() {
+            return children.values().iterator();
+        }
+
+        @Override
+        public int size() {
+            return children.size();
+        }
+    };
     private final Predicate<S> requirement;
     private final CommandNode<S> redirect;
     private final RedirectModifier<S> modifier;
     private final boolean forks;
     private Command<S> command;
+    private volatile FuzzySuggestionIndex<S> fuzzySuggestionIndex;
 
     protected CommandNode(final Command<S> command, final Predicate<S> requirement, final CommandNode<S> redirect, final RedirectModifier<S> modifier, final boolean forks) {
         this.command = command;
@@ -46,7 +62,7 @@ public abstract class CommandNode<S> implements Comparable<CommandNode<S>> {
     }
 
     public Collection<CommandNode<S>> getChildren() {
-        return children.values();
+        return childrenView;
     }
 
     public CommandNode<S> getChild(final String name) {
@@ -80,15 +96,58 @@ public abstract class CommandNode<S> implements Comparable<CommandNode<S>> {
                 child.addChild(grandchild);
             }
         } else {
+            children = withCapacity(children, children.size() + 1);
             children.put(node.getName(), node);
+            fuzzySuggestionIndex = null;
             if (node instanceof LiteralCommandNode) {
+                literals = withCapacity(literals, literals.size() + 1);
                 literals.put(node.getName(), (LiteralCommandNode<S>) node);
             } else if (node instanceof ArgumentCommandNode) {
+                arguments = withCapacity(arguments, arguments.size() + 1);
                 arguments.put(node.getName(), (ArgumentCommandNode<S, ?>) node);
             }
         }
     }
 
+    /**
+     * Adds many children at once, as if by {@link #addChild(CommandNode)} for each in turn.
+     *
+     * <p>The maps holding the children are sized for all of them up front, rather than growing as they're added.</p>
+     *
+     * @param nodes the children to add
+     */
+    public void addChildren(final Collection<? extends CommandNode<S>> nodes) {
+        int literalCount = 0;
+        int argumentCount = 0;
+        for (final CommandNode<S> node : nodes) {
+            if (node instanceof LiteralCommandNode) {
+                literalCount++;
+            } else if (node instanceof ArgumentCommandNode) {
+                argumentCount++;
+            }
+        }
+        children = withCapacity(children, children.size() + nodes.size());
+        literals = withCapacity(literals, literals.size() + literalCount);
+        arguments = withCapacity(arguments, arguments.size() + argumentCount);
+        for (final CommandNode<S> node : nodes) {
+            addChild(node);
+        }
+    }
+
+    /**
+     * Gets a mutable map to hold at least the given number of entries without growing, which is the given map if it
+     * already can.
+     */
+    private static <V> Map<String, V> withCapacity(final Map<String, V> map, final int size) {
+        if (size <= map.size() || map instanceof LinkedHashMap && (size <= map.size() * 2 || size <= 16)) {
+            // Growing by doubling is as good as sizing up front
+            return map;
+        }
+        final Map<String, V> result = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        result.putAll(map);
+        return result;
+    }
+
     public void findAmbiguities(final AmbiguityConsumer<S> consumer) {
         Set<String> matches = new HashSet<>();
 
@@ -146,6 +205,23 @@ public abstract class CommandNode<S> implements Comparable<CommandNode<S>> {
 
     public abstract CompletableFuture<Suggestions> listSuggestions(CommandContext<S> context, SuggestionsBuilder builder) throws CommandSyntaxException;
 
+    public FuzzySuggestionIndex<S> getFuzzySuggestionIndex() {
+        FuzzySuggestionIndex<S> index = fuzzySuggestionIndex;
+        if (index == null) {
+            index = new FuzzySuggestionIndex<>(children.values());
+            fuzzySuggestionIndex = index;
+        }
+        return index;
+    }
+
+    public boolean isSuggestionCacheable() {
+        return false;
+    }
+
+    public boolean isSuggestionMonotone() {
+        return false;
+    }
+
     public abstract ArgumentBuilder<S, ?> createBuilder();
 
     protected abstract String getSortedKey();
@@ -0,0 +1,151 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.tree;
+
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+public class FuzzySuggestionIndex<S> {
+    public static final int NO_MATCH = Integer.MIN_VALUE;
+
+    private static final int SCORE_MATCH = 1;
+    private static final int SCORE_GAP = -1;
+    private static final int SCORE_CONSECUTIVE = 4;
+    private static final int SCORE_BOUNDARY = 6;
+    private static final int SCORE_FIRST_CHAR = 8;
+    // Prefix matches score at least this, above any subsequence match, no matter how long the literal is
+    private static final int SCORE_PREFIX = 1 << 16;
+
+    private final String[] literals;
+    private final String[] literalsLowerCase;
+    private final long[] masks;
+    private final List<CommandNode<S>> otherNodes = new ArrayList<>();
+
+    public FuzzySuggestionIndex(final Collection<CommandNode<S>> children) {
+        final List<String> literals = new ArrayList<>(children.size());
+        for (final CommandNode<S> child : children) {
+            if (child instanceof LiteralCommandNode) {
+                literals.add(((LiteralCommandNode<S>) child).getLiteral());
+            } else {
+                otherNodes.add(child);
+            }
+        }
+
+        this.literals = literals.toArray(new String[0]);
+        this.literalsLowerCase = new String[this.literals.length];
+        this.masks = new long[this.literals.length];
+        for (int i = 0; i < this.literals.length; i++) {
+            literalsLowerCase[i] = this.literals[i].toLowerCase(Locale.ROOT);
+            masks[i] = mask(literalsLowerCase[i]);
+        }
+    }
+
+    public List<CommandNode<S>> getOtherNodes() {
+        return otherNodes;
+    }
+
+    public SuggestionsBuilder suggest(final SuggestionsBuilder builder) {
+        final String query = builder.getRemainingLowerCase();
+        final long queryMask = mask(query);
+        for (int i = 0; i < literals.length; i++) {
+            // Every character of the query has to appear somewhere in the literal, checked before any scanning
+            if ((masks[i] & queryMask) != queryMask) {
+                continue;
+            }
+            if (score(literals[i], literalsLowerCase[i], query) != NO_MATCH) {
+                builder.suggest(literals[i]);
+            }
+        }
+        return builder;
+    }
+
+    public static Suggestions rank(final Suggestions suggestions, final String remaining) {
+        if (suggestions.getList().size() < 2) {
+            return suggestions;
+        }
+        final String query = remaining.toLowerCase(Locale.ROOT);
+        final List<Suggestion> ranked = suggestions.getList();
+        final int[] scores = new int[ranked.size()];
+        final Integer[] order = new Integer[ranked.size()];
+        for (int i = 0; i < ranked.size(); i++) {
+            final String text = ranked.get(i).getText();
+            scores[i] = score(text, text.toLowerCase(Locale.ROOT), query);
+            order[i] = i;
+        }
+        // Stable, so equally scored suggestions keep their alphabetical order
+        Arrays.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+        final List<Suggestion> result = new ArrayList<>(ranked.size());
+        for (final Integer index : order) {
+            result.add(ranked.get(index));
+        }
+        return new Suggestions(suggestions.getRange(), result);
+    }
+
+    public static int score(final String text, final String textLowerCase, final String query) {
+        if (query.isEmpty()) {
+            return 0;
+        }
+        if (textLowerCase.startsWith(query)) {
+            return SCORE_PREFIX + Math.max(0, SCORE_PREFIX + query.length() * (SCORE_MATCH + SCORE_CONSECUTIVE) - (text.length() - query.length()));
+        }
+
+        // Lower casing can change the length of some characters, and then the case of the original no longer lines up
+        final String boundaryText = text.length() == textLowerCase.length() ? text : textLowerCase;
+
+        int score = 0;
+        int queryIndex = 0;
+        int lastMatch = -1;
+        for (int i = 0; i < textLowerCase.length() && queryIndex < query.length(); i++) {
+            if (textLowerCase.charAt(i) != query.charAt(queryIndex)) {
+                continue;
+            }
+            score += SCORE_MATCH;
+            if (i == 0) {
+                score += SCORE_FIRST_CHAR;
+            } else if (isBoundary(boundaryText, i)) {
+                score += SCORE_BOUNDARY;
+            }
+            if (lastMatch >= 0) {
+                score += lastMatch == i - 1 ? SCORE_CONSECUTIVE : SCORE_GAP * (i - lastMatch - 1);
+            }
+            lastMatch = i;
+            queryIndex++;
+        }
+
+        return queryIndex == query.length() ? Math.min(score, SCORE_PREFIX - 1) : NO_MATCH;
+    }
+
+    private static boolean isBoundary(final String text, final int index) {
+        final char previous = text.charAt(index - 1);
+        final char current = text.charAt(index);
+        if (!Character.isLetterOrDigit(previous)) {
+            return true;
+        }
+        return Character.isUpperCase(current) && Character.isLowerCase(previous);
+    }
+
+    static long mask(final String lowerCase) {
+        long mask = 0;
+        for (int i = 0; i < lowerCase.length(); i++) {
+            final char c = lowerCase.charAt(i);
+            final int bit;
+            if (c >= 'a' && c <= 'z') {
+                bit = c - 'a';
+            } else if (c >= '0' && c <= '9') {
+                bit = 26 + c - '0';
+            } else {
+                bit = 36 + c % 28;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+}
@@ -76,6 +76,16 @@ public class LiteralCommandNode<S> extends CommandNode<S> {
         }
     }
 
+    @Override
+    public boolean isSuggestionCacheable() {
+        return true;
+    }
+
+    @Override
+    public boolean isSuggestionMonotone() {
+        return true;
+    }
+
     @Override
     public boolean isValidInput(final String input) {
         return parse(new StringReader(input)) > -1;
@@ -39,6 +39,16 @@ public class RootCommandNode<S> extends CommandNode<S> {
         return Suggestions.empty();
     }
 
+    @Override
+    public boolean isSuggestionCacheable() {
+        return true;
+    }
+
+    @Override
+    public boolean isSuggestionMonotone() {
+        return true;
+    }
+
     @Override
     public boolean isValidInput(final String input) {
         return false;
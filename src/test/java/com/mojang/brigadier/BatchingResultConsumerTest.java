@@ -0,0 +1,99 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BatchingResultConsumerTest {
+    private CommandDispatcher<Object> subject;
+    private List<String> batches;
+
+    @Before
+    public void setUp() {
+        final SimpleCommandExceptionType rejected = new SimpleCommandExceptionType(new LiteralMessage("rejected"));
+        subject = new CommandDispatcher<>();
+        subject.register(literal("run").executes(context -> ((String) context.getSource()).length()));
+        subject.register(literal("split").fork(subject.getRoot(), context -> {
+            final String source = (String) context.getSource();
+            if (source.endsWith("b")) {
+                throw rejected.create();
+            }
+            return Arrays.asList(source + "a", source + "b");
+        }));
+        batches = new ArrayList<>();
+    }
+
+    private void record(final ResultBatch<Object> batch) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                result.append(' ');
+            }
+            result.append(batch.getContext(i).getSource()).append(':').append(batch.isSuccess(i)).append(':').append(batch.getResult(i));
+        }
+        batches.add(result.toString());
+    }
+
+    @Test
+    public void testFlushPerStage() throws CommandSyntaxException {
+        subject.setConsumer(new BatchingResultConsumer<>(this::record, BatchingResultConsumer.FlushMode.PER_STAGE));
+
+        assertThat(subject.execute("split split run", ""), is(2));
+        assertThat(batches, is(Arrays.asList("b:false:0", "aa:true:2 ab:true:2")));
+    }
+
+    @Test
+    public void testFlushPerExecute() throws CommandSyntaxException {
+        subject.setConsumer(new BatchingResultConsumer<>(this::record, BatchingResultConsumer.FlushMode.PER_EXECUTE));
+
+        subject.execute("split split run", "");
+        subject.execute("run", "abc");
+        assertThat(batches, is(Arrays.asList("b:false:0 aa:true:2 ab:true:2", "abc:true:3")));
+    }
+
+    @Test
+    public void testFlushWhenFull() throws CommandSyntaxException {
+        subject.setConsumer(new BatchingResultConsumer<>(this::record, BatchingResultConsumer.FlushMode.PER_EXECUTE, 2, null));
+
+        subject.execute("split split run", "");
+        assertThat(batches, is(Arrays.asList("b:false:0 aa:true:2", "ab:true:2")));
+    }
+
+    @Test
+    public void testFlushOnExecutor() throws CommandSyntaxException {
+        final List<Runnable> tasks = new ArrayList<>();
+        subject.setConsumer(new BatchingResultConsumer<>(this::record, BatchingResultConsumer.FlushMode.PER_STAGE, 16, tasks::add));
+
+        subject.execute("split split run", "");
+        assertThat(batches.isEmpty(), is(true));
+        assertThat(tasks.size(), is(2));
+
+        tasks.forEach(Runnable::run);
+        assertThat(batches, is(Arrays.asList("b:false:0", "aa:true:2 ab:true:2")));
+    }
+
+    @Test
+    public void testReplay() {
+        final List<Integer> results = new ArrayList<>();
+        final BatchingResultConsumer<Object> consumer = new BatchingResultConsumer<>(batch -> batch.replay((context, success, result) -> results.add(result)), BatchingResultConsumer.FlushMode.PER_EXECUTE);
+
+        consumer.onCommandComplete(null, true, 1);
+        consumer.onCommandComplete(null, false, 0);
+        assertThat(results.isEmpty(), is(true));
+
+        consumer.flush();
+        assertThat(results, is(Arrays.asList(1, 0)));
+    }
+}
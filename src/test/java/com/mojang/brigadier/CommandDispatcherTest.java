@@ -20,8 +20,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.mojang.brigadier.arguments.IntegerArgumentType.getInteger;
 import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
@@ -96,6 +102,23 @@ public class CommandDispatcherTest {
         verify(command, times(2)).run(any(CommandContext.class));
     }
 
+    @Test
+    public void testRegisterAllMergesCommands() throws Exception {
+        final List<LiteralCommandNode<Object>> nodes = subject.registerAll(Arrays.asList(
+            literal("base").then(literal("foo").executes(command)),
+            literal("other").executes(command),
+            literal("base").then(literal("bar").executes(command))
+        ));
+
+        assertThat(nodes.size(), is(3));
+        assertThat(nodes.get(1).getLiteral(), is("other"));
+        assertThat(subject.getRoot().getChildren().size(), is(2));
+        assertThat(subject.execute("base foo", source), is(42));
+        assertThat(subject.execute("base bar", source), is(42));
+        assertThat(subject.execute("other", source), is(42));
+        verify(command, times(3)).run(any(CommandContext.class));
+    }
+
     @Test
     public void testExecuteUnknownCommand() {
         subject.register(literal("bar"));
@@ -494,6 +517,7 @@ public class CommandDispatcherTest {
 
         assertThat(subject.execute("foo", source), is(5));
         verify(consumer).onCommandComplete(any(), eq(true), eq(5));
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -510,6 +534,8 @@ public class CommandDispatcherTest {
         verify(consumer).onCommandComplete(argThat(contextSourceMatches(contexts[0])), eq(true), eq(9));
         verify(consumer).onCommandComplete(argThat(contextSourceMatches(contexts[1])), eq(true), eq(10));
         verify(consumer).onCommandComplete(argThat(contextSourceMatches(contexts[2])), eq(true), eq(11));
+        verify(consumer, times(2)).onStageComplete();
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -528,6 +554,7 @@ public class CommandDispatcherTest {
         }
 
         verify(consumer).onCommandComplete(any(), eq(false), eq(0));
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -548,6 +575,8 @@ public class CommandDispatcherTest {
         }
 
         verify(consumer).onCommandComplete(any(), eq(false), eq(0));
+        verify(consumer).onStageComplete();
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -562,6 +591,8 @@ public class CommandDispatcherTest {
 
         assertThat(subject.execute("redirect crash", source), is(0));
         verify(consumer).onCommandComplete(any(), eq(false), eq(0));
+        verify(consumer, times(2)).onStageComplete();
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -586,6 +617,7 @@ public class CommandDispatcherTest {
 
         verifyZeroInteractions(command);
         verify(consumer).onCommandComplete(any(), eq(false), eq(0));
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -606,6 +638,7 @@ public class CommandDispatcherTest {
 
         verifyZeroInteractions(command);
         verify(consumer).onCommandComplete(any(), eq(false), eq(0));
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -637,9 +670,156 @@ public class CommandDispatcherTest {
         verify(consumer).onCommandComplete(argThat(contextSourceMatches(rejectedSource)), eq(false), eq(0));
         verify(consumer).onCommandComplete(argThat(contextSourceMatches(source)), eq(true), eq(3));
         verify(consumer).onCommandComplete(argThat(contextSourceMatches(otherSource)), eq(true), eq(3));
+        verify(consumer, times(3)).onStageComplete();
+        verify(consumer).onExecuteComplete();
         verifyNoMoreInteractions(consumer);
     }
 
+    @Test
+    public void testExecuteAsync() throws Exception {
+        final CompletableFuture<Integer> pending = new CompletableFuture<>();
+        final List<String> results = new ArrayList<>();
+        subject.setConsumer((context, success, result) -> results.add(success + ":" + result));
+        subject.register(literal("foo").executesAsync(context -> pending));
+
+        final CompletableFuture<Integer> result = subject.executeAsync(subject.parse("foo", source));
+        assertThat(result.isDone(), is(false));
+        assertThat(results.isEmpty(), is(true));
+
+        pending.complete(42);
+        assertThat(result.get(), is(42));
+        assertThat(results, equalTo(Collections.singletonList("true:42")));
+    }
+
+    @Test
+    public void testExecuteAsync_syncCommand() throws Exception {
+        subject.register(literal("foo").executes(context -> 42));
+
+        assertThat(subject.executeAsync(subject.parse("foo", source)).get(), is(42));
+    }
+
+    @Test
+    public void testExecuteAsync_blockingExecute() throws Exception {
+        subject.register(literal("foo").executesAsync(context -> CompletableFuture.supplyAsync(() -> 42)));
+
+        assertThat(subject.execute("foo", source), is(42));
+    }
+
+    @Test
+    public void testExecuteAsync_unknownCommand() {
+        final CompletableFuture<Integer> result = subject.executeAsync(subject.parse("foo", source));
+
+        try {
+            result.join();
+            fail();
+        } catch (final CompletionException ex) {
+            assertThat(ex.getCause() instanceof CommandSyntaxException, is(true));
+            assertThat(((CommandSyntaxException) ex.getCause()).getType(), is(CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand()));
+        }
+    }
+
+    @Test
+    public void testExecuteAsync_exceptionInNonForkedCommand() {
+        final CommandSyntaxException exception = CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedBool().create();
+        final CompletableFuture<Integer> pending = new CompletableFuture<>();
+        final List<String> results = new ArrayList<>();
+        subject.setConsumer((context, success, result) -> results.add(success + ":" + result));
+        subject.register(literal("crash").executesAsync(context -> pending));
+        subject.register(literal("redirect").redirect(subject.getRoot()));
+
+        final CompletableFuture<Integer> result = subject.executeAsync(subject.parse("redirect crash", source));
+        pending.completeExceptionally(exception);
+
+        try {
+            result.join();
+            fail();
+        } catch (final CompletionException ex) {
+            assertThat(ex.getCause(), is(exception));
+        }
+        assertThat(results, equalTo(Collections.singletonList("false:0")));
+    }
+
+    @Test
+    public void testExecuteAsync_partialExceptionInFork() throws Exception {
+        final CommandSyntaxException exception = CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedBool().create();
+        final Object otherSource = new Object();
+        final Object rejectedSource = new Object();
+        final List<String> results = new ArrayList<>();
+        subject.setConsumer((context, success, result) -> results.add(success + ":" + result));
+        subject.register(literal("run").executesAsync(context -> {
+            final CompletableFuture<Integer> result = new CompletableFuture<>();
+            if (context.getSource() == rejectedSource) {
+                result.completeExceptionally(exception);
+            } else {
+                result.complete(3);
+            }
+            return result;
+        }));
+        subject.register(literal("split").fork(subject.getRoot(), context -> Arrays.asList(source, rejectedSource, otherSource)));
+
+        assertThat(subject.executeAsync(subject.parse("split run", source)).get(), is(2));
+        assertThat(results, equalTo(Arrays.asList("true:3", "false:0", "true:3")));
+    }
+
+    @Test
+    public void testExecuteAsync_onExecutor() throws Exception {
+        final Thread caller = Thread.currentThread();
+        subject.register(literal("foo").executes(context -> Thread.currentThread() == caller ? 0 : 42));
+        subject.register(literal("bar").executes(context -> {
+            throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedBool().create();
+        }));
+
+        final ExecutorService executor = VirtualThreads.newExecutor();
+        try {
+            assertThat(subject.executeAsync(subject.parse("foo", source), executor).get(), is(42));
+            try {
+                subject.executeAsync(subject.parse("bar", source), executor).join();
+                fail();
+            } catch (final CompletionException ex) {
+                assertThat(ex.getCause() instanceof CommandSyntaxException, is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteBatch() {
+        final List<Integer> executed = new ArrayList<>();
+        subject.register(literal("foo").then(argument("value", integer()).executes(context -> {
+            executed.add(getInteger(context, "value"));
+            return getInteger(context, "value") * 2;
+        })));
+
+        final BatchResults results = subject.executeBatch(Arrays.asList("foo 1", "bar", "foo x", "foo 3"), source);
+
+        assertThat(results.size(), is(4));
+        assertThat(results.getSuccessCount(), is(2));
+        assertThat(results.getFailureCount(), is(2));
+        assertThat(results.getResult(0), is(2));
+        assertThat(results.isSuccess(1), is(false));
+        assertThat(results.getError(1).getType(), is(CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand()));
+        assertThat(results.getError(2).getType(), is(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedInt()));
+        assertThat(results.getResult(3), is(6));
+        assertThat(executed, equalTo(Arrays.asList(1, 3)));
+    }
+
+    @Test
+    public void testParseBatch_sharesIdenticalInputs() {
+        subject.register(literal("foo").executes(command));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<ParseResults<Object>> parses = subject.parseBatch(Arrays.asList("foo", "bar", "foo"), source, executor);
+
+            assertThat(parses.size(), is(3));
+            assertThat(parses.get(0) == parses.get(2), is(true));
+            assertThat(parses.get(1).getReader().getString(), is("bar"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     public static Matcher<CommandContext<Object>> contextSourceMatches(final Object source) {
         return new CustomMatcher<CommandContext<Object>>("source " + source) {
             @Override
@@ -5,9 +5,12 @@ package com.mojang.brigadier;
 
 import com.google.common.collect.Lists;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.context.StringRange;
 import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.SuggestionCache;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.SuggestionSnapshot;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import org.junit.Before;
@@ -16,6 +19,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
@@ -24,6 +28,8 @@ import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
 import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -337,4 +343,148 @@ public class CommandSuggestionsTest {
         assertThat(result.getRange(), equalTo(StringRange.at(18)));
         assertThat(result.getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.at(18), "bar"), new Suggestion(StringRange.at(18), "baz"))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getCompletionSuggestions_cached() throws Exception {
+        final SuggestionCache<Object> cache = new SuggestionCache<>(16);
+        subject.setSuggestionCache(cache);
+        subject.register(literal("foo"));
+        subject.register(literal("bar"));
+        subject.register(literal("baz"));
+
+        final Suggestions first = subject.getCompletionSuggestions(subject.parse("b", source)).join();
+        final Suggestions second = subject.getCompletionSuggestions(subject.parse("b", source)).join();
+
+        assertThat(cache.size(), is(1));
+        assertThat(second, sameInstance(first));
+        assertThat(second.getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(0, 1), "bar"), new Suggestion(StringRange.between(0, 1), "baz"))));
+    }
+
+    @Test
+    public void getCompletionSuggestions_cached_invalidatedByNewChild() throws Exception {
+        subject.setSuggestionCache(new SuggestionCache<>(16));
+        subject.register(literal("foo"));
+        subject.register(literal("bar"));
+
+        testSuggestions("b", 1, StringRange.between(0, 1), "bar");
+
+        subject.register(literal("baz"));
+
+        testSuggestions("b", 1, StringRange.between(0, 1), "bar", "baz");
+    }
+
+    @Test
+    public void getCompletionSuggestions_cached_skipsUncacheableProvider() throws Exception {
+        final SuggestionCache<Object> cache = new SuggestionCache<>(16);
+        subject.setSuggestionCache(cache);
+        subject.register(
+            literal("parent")
+                .then(literal("foo"))
+                .then(argument("value", word()).suggests((c, b) -> b.suggest("bar").buildFuture()))
+        );
+
+        testSuggestions("parent ", 7, StringRange.at(7), "bar", "foo");
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void getCompletionSnapshot_narrowsPrevious() throws Exception {
+        subject.register(
+            literal("parent")
+                .then(literal("foo"))
+                .then(literal("bar"))
+                .then(literal("baz"))
+                .then(literal("Bazooka"))
+        );
+
+        final SuggestionSnapshot<Object> first = subject.getCompletionSnapshot(subject.parse("parent b", source), 8, null).join();
+        final SuggestionSnapshot<Object> second = subject.getCompletionSnapshot(subject.parse("parent ba", source), 9, first).join();
+        final SuggestionSnapshot<Object> third = subject.getCompletionSnapshot(subject.parse("parent baz", source), 10, second).join();
+
+        assertThat(second.getSuggestions(), equalTo(subject.getCompletionSuggestions(subject.parse("parent ba", source)).join()));
+        assertThat(third.getSuggestions(), equalTo(subject.getCompletionSuggestions(subject.parse("parent baz", source)).join()));
+        assertThat(third.getSuggestions().getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(7, 10), "Bazooka"))));
+    }
+
+    @Test
+    public void getCompletionSnapshot_differentArgument() throws Exception {
+        subject.register(
+            literal("parent")
+                .then(literal("foo").then(literal("bar")))
+        );
+
+        final SuggestionSnapshot<Object> first = subject.getCompletionSnapshot(subject.parse("parent f", source), 8, null).join();
+        final SuggestionSnapshot<Object> second = subject.getCompletionSnapshot(subject.parse("parent foo ", source), 11, first).join();
+
+        assertThat(second.getSuggestions().getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.at(11), "bar"))));
+    }
+
+    @Test
+    public void getCompletionSnapshot_childAdded() throws Exception {
+        subject.register(literal("foo"));
+
+        final SuggestionSnapshot<Object> first = subject.getCompletionSnapshot(subject.parse("f", source), 1, null).join();
+        subject.register(literal("fizz"));
+        final SuggestionSnapshot<Object> second = subject.getCompletionSnapshot(subject.parse("fi", source), 2, first).join();
+
+        assertThat(second.getSuggestions().getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(0, 2), "fizz"))));
+    }
+
+    @Test
+    public void getCompletionSnapshot_nonMonotoneProvider() throws Exception {
+        subject.register(
+            literal("parent")
+                .then(argument("value", word()).suggests((c, b) -> b.suggest(b.getRemaining() + "!").buildFuture()))
+        );
+
+        final SuggestionSnapshot<Object> first = subject.getCompletionSnapshot(subject.parse("parent a", source), 8, null).join();
+        final SuggestionSnapshot<Object> second = subject.getCompletionSnapshot(subject.parse("parent ab", source), 9, first).join();
+
+        assertThat(second.getSuggestions(), not(equalTo(first.getSuggestions())));
+        assertThat(second.getSuggestions().getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(7, 9), "ab!"))));
+    }
+
+    @Test
+    public void getCompletionSuggestions_fuzzy() throws Exception {
+        subject.setFuzzySuggestions(true);
+        subject.register(literal("gamemode"));
+        subject.register(literal("give"));
+        subject.register(literal("gm"));
+        subject.register(literal("summon"));
+
+        testSuggestions("gm", 2, StringRange.between(0, 2), "gamemode");
+        testSuggestions("g", 1, StringRange.between(0, 1), "gm", "give", "gamemode");
+    }
+
+    @Test
+    public void getCompletionSuggestions_fuzzy_withArguments() throws Exception {
+        subject.setFuzzySuggestions(true);
+        subject.register(
+            literal("parent")
+                .then(literal("setBlock"))
+                .then(argument("value", word()).suggests((c, b) -> b.suggest("subscribe").buildFuture()))
+        );
+
+        testSuggestions("parent sb", 9, StringRange.between(7, 9), "setBlock", "subscribe");
+    }
+
+    @Test
+    public void getCompletionSuggestions_sharedContext() throws Exception {
+        final List<CommandContext<Object>> contexts = new ArrayList<>();
+        final SuggestionProvider<Object> provider = (c, b) -> {
+            contexts.add(c);
+            return b.buildFuture();
+        };
+        subject.register(
+            literal("parent")
+                .then(argument("a", word()).suggests(provider))
+                .then(argument("b", word()).suggests(provider))
+        );
+
+        subject.getCompletionSuggestions(subject.parse("parent ", source)).join();
+
+        assertThat(contexts.size(), is(2));
+        assertThat(contexts.get(1), is(sameInstance(contexts.get(0))));
+    }
+}
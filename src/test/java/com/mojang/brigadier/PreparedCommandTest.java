@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.getInteger;
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PreparedCommandTest {
+    private CommandDispatcher<Integer> subject;
+
+    @Before
+    public void setUp() {
+        subject = new CommandDispatcher<>();
+        subject.register(LiteralArgumentBuilder.<Integer>literal("add").then(RequiredArgumentBuilder.<Integer, Integer>argument("value", integer()).executes(context -> context.getSource() + getInteger(context, "value"))));
+        subject.register(LiteralArgumentBuilder.<Integer>literal("admin").requires(source -> source > 100).executes(context -> context.getSource()));
+        subject.register(LiteralArgumentBuilder.<Integer>literal("double").redirect(subject.getRoot(), context -> context.getSource() * 2));
+        subject.register(LiteralArgumentBuilder.<Integer>literal("split").fork(subject.getRoot(), context -> Arrays.asList(context.getSource(), -context.getSource())));
+    }
+
+    @Test
+    public void testExecuteWithDifferentSources() throws CommandSyntaxException {
+        final PreparedCommand<Integer> command = subject.prepare(subject.parse("double add 5", 0));
+
+        assertThat(command.execute(1), is(7));
+        assertThat(command.execute(10), is(25));
+    }
+
+    @Test
+    public void testExecuteForked() throws CommandSyntaxException {
+        final List<Integer> results = new ArrayList<>();
+        subject.setConsumer((context, success, result) -> results.add(result));
+        final PreparedCommand<Integer> command = subject.prepare(subject.parse("split add 1", 0));
+
+        assertThat(command.execute(3), is(2));
+        assertThat(results, is(Arrays.asList(4, -2)));
+    }
+
+    @Test
+    public void testRequirementsCheckedPerSource() throws CommandSyntaxException {
+        final PreparedCommand<Integer> command = subject.prepare(subject.parse("admin", 1000));
+
+        assertThat(command.execute(500), is(500));
+        try {
+            command.execute(5);
+            fail();
+        } catch (final CommandSyntaxException ex) {
+            assertThat(ex.getType(), is(CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand()));
+        }
+    }
+
+    @Test
+    public void testPrepareInvalid() {
+        try {
+            subject.prepare(subject.parse("add", 0));
+            fail();
+        } catch (final CommandSyntaxException ex) {
+            assertThat(ex.getType(), is(CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand()));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.arguments.StringArgumentType.greedyString;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SlowCommandLogTest {
+    private CommandDispatcher<Object> subject;
+    private SlowCommandLog<Object> log;
+    private final List<SlowCommandRecord<Object>> records = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        subject = new CommandDispatcher<>();
+        subject.register(literal("tell")
+            .then(argument("target", integer())
+                .then(argument("message", greedyString()).executes(c -> {
+                    final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(2);
+                    while (System.nanoTime() < end) {
+                        Thread.yield();
+                    }
+                    return 1;
+                }))));
+        log = new SlowCommandLog<>(records::add);
+        log.setSourceDescriber(source -> "console");
+        subject.setSlowCommandLog(log);
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        assertThat(log.isEnabled(), is(false));
+        subject.execute("tell 1 hello", new Object());
+        assertThat(records.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testSlowExecute() throws Exception {
+        log.setThreshold(SlowCommandLog.Phase.EXECUTE, 1, TimeUnit.MILLISECONDS);
+        assertThat(log.isEnabled(SlowCommandLog.Phase.PARSE), is(false));
+        assertThat(log.isEnabled(SlowCommandLog.Phase.EXECUTE), is(true));
+
+        subject.execute("tell 1 hello", new Object());
+
+        assertThat(records.size(), is(1));
+        final SlowCommandRecord<Object> record = records.get(0);
+        assertThat(record.getPhase(), is(SlowCommandLog.Phase.EXECUTE));
+        assertThat(record.getInput(), is("tell 1 hello"));
+        assertThat(record.getPath(), is(Arrays.asList("tell", "target", "message")));
+        assertThat(record.getSource(), is("console"));
+        assertThat(record.getParseNanos(), greaterThan(0L));
+        assertThat(record.getSuggestNanos(), is(-1L));
+        assertThat(record.getExecuteNanos(), greaterThan(TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void testSlowExecuteThroughRedirect() throws Exception {
+        subject.register(literal("as").then(argument("source", integer()).redirect(subject.getRoot())));
+        log.setThreshold(SlowCommandLog.Phase.EXECUTE, 1, TimeUnit.MILLISECONDS);
+
+        subject.execute("as 2 tell 1 hello", new Object());
+
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0).getPath(), is(Arrays.asList("as", "source", "tell", "target", "message")));
+    }
+
+    @Test
+    public void testFastExecute() throws Exception {
+        log.setThreshold(SlowCommandLog.Phase.EXECUTE, 1, TimeUnit.SECONDS);
+        subject.execute("tell 1 hello", new Object());
+        assertThat(records.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testSlowParseAndSuggest() throws Exception {
+        log.setThreshold(SlowCommandLog.Phase.PARSE, 0, TimeUnit.NANOSECONDS);
+        log.setThreshold(SlowCommandLog.Phase.SUGGEST, 0, TimeUnit.NANOSECONDS);
+
+        final ParseResults<Object> parse = subject.parse("tell 1", new Object());
+        subject.getCompletionSuggestions(parse).join();
+
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0).getPhase(), is(SlowCommandLog.Phase.PARSE));
+        assertThat(records.get(0).getPath(), is(Arrays.asList("tell", "target")));
+        assertThat(records.get(0).getExecuteNanos(), is(-1L));
+        assertThat(records.get(1).getPhase(), is(SlowCommandLog.Phase.SUGGEST));
+        assertThat(records.get(1).getSuggestNanos(), greaterThan(0L));
+    }
+
+    @Test
+    public void testRedactArguments() throws Exception {
+        log.setThreshold(SlowCommandLog.Phase.PARSE, 0, TimeUnit.NANOSECONDS);
+        log.setRedactor(SlowCommandLog.Redactor.arguments());
+
+        subject.parse("tell 1 my password", new Object());
+        subject.parse("tell x secret", new Object());
+
+        assertThat(records.get(0).getInput(), is("tell <target> <message>"));
+        assertThat(records.get(1).getInput(), is("tell ..."));
+    }
+
+    @Test
+    public void testRateLimit() throws Exception {
+        log.setThreshold(SlowCommandLog.Phase.PARSE, 0, TimeUnit.NANOSECONDS);
+        log.setRateLimit(1, 50, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 3; i++) {
+            subject.parse("tell 1", new Object());
+        }
+        assertThat(records.size(), is(1));
+
+        Thread.sleep(60);
+        subject.parse("tell 1", new Object());
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0).getSuppressed(), is(0L));
+        assertThat(records.get(1).getSuppressed(), is(2L));
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.tree.CommandNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.arguments.StringArgumentType.greedyString;
+import static com.mojang.brigadier.arguments.StringArgumentType.word;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+
+/**
+ * The hot paths guarded by {@link AllocationGate}, whose bytes allocated per operation are checked against a baseline.
+ */
+@State(Scope.Benchmark)
+public class AllocationBenchmarks {
+    private final Object source = new Object();
+    private CommandDispatcher<Object> subject;
+    private CommandNode<Object> give;
+    private ParseResults<Object> parsed;
+    private ParseResults<Object> partial;
+
+    @Setup
+    public void setup() {
+        subject = new CommandDispatcher<>();
+        give = subject.register(literal("give")
+            .then(argument("target", word())
+                .then(argument("item", word())
+                    .executes(c -> 1)
+                    .then(argument("count", integer(1, 64)).executes(c -> 1)))));
+        subject.register(literal("time")
+            .then(literal("set").then(argument("value", integer()).executes(c -> 1)))
+            .then(literal("add").then(argument("value", integer()).executes(c -> 1)))
+            .then(literal("query").executes(c -> 1)));
+        subject.register(literal("say").then(argument("message", greedyString()).executes(c -> 1)));
+        subject.register(literal("execute").then(literal("run").redirect(subject.getRoot())));
+        parsed = subject.parse("give player stone 5", source);
+        partial = subject.parse("time s", source);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse() {
+        return subject.parse("give player stone 5", source);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_redirect() {
+        return subject.parse("execute run time set 100", source);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int execute() throws CommandSyntaxException {
+        return subject.execute(parsed);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Suggestions suggest() {
+        return subject.getCompletionSuggestions(partial).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Map<CommandNode<Object>, String> smart_usage() {
+        return subject.getSmartUsage(give, source);
+    }
+}
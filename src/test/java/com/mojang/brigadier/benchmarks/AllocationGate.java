@@ -0,0 +1,133 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Runs {@link AllocationBenchmarks} with the GC profiler, and fails if any of them allocates more per operation than
+ * its checked-in baseline allows.
+ *
+ * <p>Arguments are the baseline file, the tolerance as a fraction of the baseline, and optionally {@code --update} to
+ * write the measured values as the new baseline instead of checking them. A small absolute slack is allowed on top of
+ * the tolerance, as JIT decisions can add or remove an object or two between runs.</p>
+ */
+public final class AllocationGate {
+    private static final String ALLOC_RATE_NORM = "\u00b7gc.alloc.rate.norm";
+    private static final double SLACK_BYTES = 32;
+
+    private AllocationGate() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: AllocationGate <baseline file> <tolerance> [--update]");
+            System.exit(2);
+        }
+        final Path baselineFile = Paths.get(args[0]);
+        final double tolerance = Double.parseDouble(args[1]);
+        final boolean update = args.length > 2 && args[2].equals("--update");
+
+        final Map<String, Double> measured = measure();
+        if (update) {
+            writeBaseline(baselineFile, measured);
+            System.out.println("Wrote allocation baseline to " + baselineFile);
+            return;
+        }
+
+        final List<String> failures = compare(readBaseline(baselineFile), measured, tolerance);
+        for (final Map.Entry<String, Double> entry : measured.entrySet()) {
+            System.out.printf("%-24s %10.1f B/op%n", entry.getKey(), entry.getValue());
+        }
+        if (!failures.isEmpty()) {
+            for (final String failure : failures) {
+                System.err.println(failure);
+            }
+            System.err.println("If the increase is intended, update the baseline with --update");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Double> measure() throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(AllocationBenchmarks.class.getName() + "\\.")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build();
+
+        final Map<String, Double> result = new TreeMap<>();
+        for (final RunResult run : new Runner(options).run()) {
+            final String benchmark = run.getParams().getBenchmark();
+            final Result<?> norm = run.getSecondaryResults().get(ALLOC_RATE_NORM);
+            if (norm == null) {
+                throw new IllegalStateException("No " + ALLOC_RATE_NORM + " result for " + benchmark);
+            }
+            result.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), norm.getScore());
+        }
+        return result;
+    }
+
+    /**
+     * Compares measured allocation against the baseline.
+     *
+     * @return a description of every benchmark that regressed or has no baseline
+     */
+    static List<String> compare(final Map<String, Double> baseline, final Map<String, Double> measured, final double tolerance) {
+        final List<String> failures = new ArrayList<>();
+        for (final Map.Entry<String, Double> entry : measured.entrySet()) {
+            final Double expected = baseline.get(entry.getKey());
+            if (expected == null) {
+                failures.add(entry.getKey() + ": no baseline, measured " + format(entry.getValue()));
+            } else if (entry.getValue() > expected * (1 + tolerance) + SLACK_BYTES) {
+                failures.add(entry.getKey() + ": allocated " + format(entry.getValue()) + ", baseline " + format(expected) + " allows at most " + format(expected * (1 + tolerance) + SLACK_BYTES));
+            }
+        }
+        return failures;
+    }
+
+    private static String format(final double bytes) {
+        return String.format("%.1f B/op", bytes);
+    }
+
+    static Map<String, Double> readBaseline(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        final Map<String, Double> result = new TreeMap<>();
+        for (final String name : properties.stringPropertyNames()) {
+            result.put(name, Double.parseDouble(properties.getProperty(name)));
+        }
+        return result;
+    }
+
+    private static void writeBaseline(final Path file, final Map<String, Double> measured) throws IOException {
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Bytes allocated per operation by AllocationBenchmarks, checked by AllocationGate\n");
+            for (final Map.Entry<String, Double> entry : measured.entrySet()) {
+                writer.write(entry.getKey() + "=" + Math.round(entry.getValue()) + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class AllocationGateTest {
+    @Test
+    public void testWithinTolerance() throws Exception {
+        final Map<String, Double> baseline = new HashMap<>();
+        baseline.put("parse", 1000.0);
+        final Map<String, Double> measured = new HashMap<>();
+        measured.put("parse", 1130.0);
+        assertThat(AllocationGate.compare(baseline, measured, 0.1).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testRegression() throws Exception {
+        final Map<String, Double> baseline = new HashMap<>();
+        baseline.put("parse", 1000.0);
+        final Map<String, Double> measured = new HashMap<>();
+        measured.put("parse", 1200.0);
+        final List<String> failures = AllocationGate.compare(baseline, measured, 0.1);
+        assertThat(failures.size(), is(1));
+        assertThat(failures.get(0), startsWith("parse: allocated 1200.0 B/op, baseline 1000.0 B/op"));
+    }
+
+    @Test
+    public void testMissingBaseline() throws Exception {
+        final Map<String, Double> measured = new HashMap<>();
+        measured.put("suggest", 100.0);
+        final List<String> failures = AllocationGate.compare(new HashMap<>(), measured, 0.1);
+        assertThat(failures.size(), is(1));
+        assertThat(failures.get(0), startsWith("suggest: no baseline"));
+    }
+}
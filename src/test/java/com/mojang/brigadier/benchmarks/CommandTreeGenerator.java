@@ -0,0 +1,218 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.mojang.brigadier.arguments.BoolArgumentType.bool;
+import static com.mojang.brigadier.arguments.DoubleArgumentType.doubleArg;
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.arguments.StringArgumentType.word;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+
+/**
+ * Builds large, random but repeatable command trees, for benchmarks that need more than a handful of nodes.
+ *
+ * <p>Every top level command is a tree of the configured breadth and depth. Each child is a literal or an argument of
+ * one of a few built-in types, and may carry a requirement. Leaves may redirect or fork back to the root, as commands
+ * like {@code execute} do. Generating with the same settings and seed always gives the same tree.</p>
+ */
+public class CommandTreeGenerator {
+    private static final ArgumentType<?>[] ARGUMENT_TYPES = {integer(), word(), doubleArg(), bool()};
+
+    private int breadth = 4;
+    private int depth = 4;
+    private double literalRatio = 0.75;
+    private double redirectChance = 0.01;
+    private double forkChance = 0.005;
+    private double requirementChance = 0.1;
+    private long seed = 0;
+    private String prefix = "command";
+
+    /**
+     * Sets how many children every node below a top level command has.
+     */
+    public CommandTreeGenerator breadth(final int breadth) {
+        this.breadth = breadth;
+        return this;
+    }
+
+    /**
+     * Sets how many levels of nodes are below each top level command.
+     */
+    public CommandTreeGenerator depth(final int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * Sets the share of children that are literals rather than arguments.
+     */
+    public CommandTreeGenerator literalRatio(final double literalRatio) {
+        this.literalRatio = literalRatio;
+        return this;
+    }
+
+    public CommandTreeGenerator redirectChance(final double redirectChance) {
+        this.redirectChance = redirectChance;
+        return this;
+    }
+
+    public CommandTreeGenerator forkChance(final double forkChance) {
+        this.forkChance = forkChance;
+        return this;
+    }
+
+    public CommandTreeGenerator requirementChance(final double requirementChance) {
+        this.requirementChance = requirementChance;
+        return this;
+    }
+
+    public CommandTreeGenerator seed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets what the names of top level commands start with, so that trees generated with different prefixes don't
+     * merge into each other.
+     */
+    public CommandTreeGenerator prefix(final String prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
+    /**
+     * Gets how many nodes a single top level command has, including itself.
+     */
+    public int getNodesPerCommand() {
+        int total = 1;
+        int level = 1;
+        for (int i = 0; i < depth; i++) {
+            level *= breadth;
+            total += level;
+        }
+        return total;
+    }
+
+    /**
+     * Generates top level commands with about the given number of nodes in total, never fewer.
+     *
+     * @param nodes the number of nodes to generate
+     * @param root the node redirects and forks point to, usually the root of the dispatcher they're registered to
+     * @return the builders of the top level commands, which may be built any number of times
+     */
+    public List<LiteralArgumentBuilder<Object>> generate(final int nodes, final CommandNode<Object> root) {
+        final Random random = new Random(seed);
+        final int commands = Math.max(1, (nodes + getNodesPerCommand() - 1) / getNodesPerCommand());
+        final List<LiteralArgumentBuilder<Object>> result = new ArrayList<>(commands);
+        for (int i = 0; i < commands; i++) {
+            final LiteralArgumentBuilder<Object> command = literal(prefix + i);
+            populate(command, depth, random, root);
+            result.add(command);
+        }
+        return result;
+    }
+
+    /**
+     * Generates a dispatcher holding about the given number of nodes, never fewer.
+     */
+    public CommandDispatcher<Object> generateDispatcher(final int nodes) {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        for (final LiteralArgumentBuilder<Object> command : generate(nodes, dispatcher.getRoot())) {
+            dispatcher.register(command);
+        }
+        return dispatcher;
+    }
+
+    private void populate(final ArgumentBuilder<Object, ?> parent, final int remaining, final Random random, final CommandNode<Object> root) {
+        if (remaining == 0) {
+            final double roll = random.nextDouble();
+            if (roll < redirectChance) {
+                parent.redirect(root);
+            } else if (roll < redirectChance + forkChance) {
+                parent.fork(root, context -> Collections.singletonList(context.getSource()));
+            } else {
+                parent.executes(context -> 1);
+            }
+            return;
+        }
+        if (random.nextInt(remaining + 1) == 0) {
+            parent.executes(context -> 1);
+        }
+        for (int i = 0; i < breadth; i++) {
+            final ArgumentBuilder<Object, ?> child;
+            if (random.nextDouble() < literalRatio) {
+                child = literal("literal" + i);
+            } else {
+                child = argument("arg" + i, ARGUMENT_TYPES[random.nextInt(ARGUMENT_TYPES.length)]);
+            }
+            if (random.nextDouble() < requirementChance) {
+                final int level = random.nextInt(4);
+                child.requires(source -> level < 3);
+            }
+            populate(child, remaining - 1, random, root);
+            parent.then(child);
+        }
+    }
+
+    /**
+     * Walks random paths from the root to build inputs that parse, using the examples of argument types.
+     *
+     * @param dispatcher the dispatcher to walk
+     * @param count how many inputs to build
+     * @param seed the seed for picking paths
+     * @return the inputs, which may repeat
+     */
+    public static List<String> sampleInputs(final CommandDispatcher<Object> dispatcher, final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<String> result = new ArrayList<>(count);
+        while (result.size() < count) {
+            final StringBuilder input = new StringBuilder();
+            CommandNode<Object> node = dispatcher.getRoot();
+            while (!node.getChildren().isEmpty()) {
+                final List<CommandNode<Object>> children = new ArrayList<>(node.getChildren());
+                node = children.get(random.nextInt(children.size()));
+                if (input.length() > 0) {
+                    input.append(' ');
+                }
+                if (node instanceof LiteralCommandNode) {
+                    input.append(((LiteralCommandNode<Object>) node).getLiteral());
+                } else {
+                    input.append(((ArgumentCommandNode<Object, ?>) node).getType().getExamples().iterator().next());
+                }
+                if (node.getRedirect() != null) {
+                    break;
+                }
+            }
+            if (input.length() > 0) {
+                result.add(input.toString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cuts each input back to the first character of its last word, as if the user was still typing it.
+     */
+    public static List<String> partialInputs(final List<String> inputs) {
+        final List<String> result = new ArrayList<>(inputs.size());
+        for (final String input : inputs) {
+            result.add(input.substring(0, Math.min(input.length(), input.lastIndexOf(' ') + 2)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.metrics.CommandMetricsRecorder;
+import com.mojang.brigadier.suggestion.SuggestionCache;
+import com.mojang.brigadier.suggestion.Suggestions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single dispatcher shared by many threads, as a server handling commands from many connections does.
+ *
+ * <p>Compare the per-thread scores against {@link ScalingBenchmarks} for the same tree size to see how well an operation
+ * scales. A dispatcher can't be registered to while it's parsing, so the registering thread of {@code parse_register}
+ * builds into a dispatcher of its own; it still competes for allocation, GC and memory bandwidth.</p>
+ */
+@State(Scope.Benchmark)
+public class ContentionBenchmarks {
+    private static final int SAMPLES = 1024;
+
+    @Param({"10000"})
+    public int nodes;
+
+    private final CommandTreeGenerator generator = new CommandTreeGenerator();
+    private CommandDispatcher<Object> subject;
+    private CommandDispatcher<Object> measured;
+    private CommandDispatcher<Object> cached;
+    private String[] inputs;
+    private String[] partialInputs;
+
+    @Setup
+    public void setup() {
+        subject = generator.generateDispatcher(nodes);
+        measured = generator.generateDispatcher(nodes);
+        measured.setMetrics(new CommandMetricsRecorder<>());
+        cached = generator.generateDispatcher(nodes);
+        cached.setSuggestionCache(new SuggestionCache<>(SAMPLES / 4));
+
+        final List<String> samples = CommandTreeGenerator.sampleInputs(subject, SAMPLES, 1);
+        inputs = samples.toArray(new String[0]);
+        partialInputs = CommandTreeGenerator.partialInputs(samples).toArray(new String[0]);
+    }
+
+    /**
+     * Where each thread is in the samples, so that threads don't share a counter.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        @Setup
+        public void setup() {
+            index = (int) Thread.currentThread().getId() * 31;
+        }
+
+        int next() {
+            index = (index + 1) & (SAMPLES - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse(final Cursor cursor) {
+        return subject.parse(inputs[cursor.next()], new Object());
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_with_metrics(final Cursor cursor) {
+        return measured.parse(inputs[cursor.next()], new Object());
+    }
+
+    @Benchmark
+    @Group("parse_suggest")
+    @GroupThreads(4)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_suggest_parse(final Cursor cursor) {
+        return cached.parse(inputs[cursor.next()], new Object());
+    }
+
+    @Benchmark
+    @Group("parse_suggest")
+    @GroupThreads(4)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Suggestions parse_suggest_suggest(final Cursor cursor) {
+        final ParseResults<Object> parse = cached.parse(partialInputs[cursor.next()], new Object());
+        return cached.getCompletionSuggestions(parse).join();
+    }
+
+    @Benchmark
+    @Group("parse_register")
+    @GroupThreads(7)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_register_parse(final Cursor cursor) {
+        return subject.parse(inputs[cursor.next()], new Object());
+    }
+
+    @Benchmark
+    @Group("parse_register")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CommandDispatcher<Object> parse_register_register() {
+        return generator.generateDispatcher(nodes / 10);
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mojang.brigadier.arguments.DoubleArgumentType.doubleArg;
+import static com.mojang.brigadier.arguments.FloatArgumentType.floatArg;
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.arguments.LongArgumentType.longArg;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+
+@State(Scope.Benchmark)
+public class ExceptionBenchmarks {
+    private CommandDispatcher<Object> subject;
+    private StringReader reader;
+
+    @Setup
+    public void setup() {
+        subject = new CommandDispatcher<>();
+        // Every sibling rejects out of range input with a dynamic message, which is discarded unless all of them fail
+        subject.register(literal("range")
+            .then(argument("int", integer(0, 10)).executes(c -> 0))
+            .then(argument("long", longArg(0, 10)).executes(c -> 0))
+            .then(argument("float", floatArg(0, 10)).executes(c -> 0))
+            .then(argument("double", doubleArg(0, 100)).executes(c -> 0)));
+        reader = new StringReader("range 11");
+        reader.setCursor(6);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CommandSyntaxException create_dynamic() {
+        return CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooHigh().createWithContext(reader, 11, 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String create_dynamic_getMessage() {
+        return CommandSyntaxException.BUILT_IN_EXCEPTIONS.integerTooHigh().createWithContext(reader, 11, 10).getMessage();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_out_of_range_siblings() {
+        return subject.parse("range 11", new Object());
+    }
+}
@@ -6,6 +6,8 @@ package com.mojang.brigadier.benchmarks;
 import com.google.common.collect.Lists;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.PreparedCommand;
+import com.mojang.brigadier.StreamingRedirectModifier;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -15,6 +17,9 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
@@ -25,16 +30,55 @@ public class ExecuteBenchmarks {
     private ParseResults<Object> simple;
     private ParseResults<Object> singleRedirect;
     private ParseResults<Object> forkedRedirect;
+    private ParseResults<Object> redirectChain;
+    private ParseResults<Object> modifiedRedirectChain;
+    private PreparedCommand<Object> preparedSimple;
+    private PreparedCommand<Object> preparedSingleRedirect;
+    private PreparedCommand<Object> preparedForkedRedirect;
+    private Object source;
+    private CommandDispatcher<Object> parallelDispatcher;
+    private ParseResults<Object> wideFork;
+    private ParseResults<Object> parallelWideFork;
+    private CommandDispatcher<Object> depthFirstDispatcher;
+    private ParseResults<Object> depthFirstWideFork;
 
     @Setup
-    public void setup() {
+    public void setup() throws CommandSyntaxException {
         dispatcher = new CommandDispatcher<>();
         dispatcher.register(literal("command").executes(c -> 0));
         dispatcher.register(literal("redirect").redirect(dispatcher.getRoot()));
         dispatcher.register(literal("fork").fork(dispatcher.getRoot(), o -> Lists.newArrayList(new Object(), new Object(), new Object())));
         simple = dispatcher.parse("command", new Object());
         singleRedirect = dispatcher.parse("redirect command", new Object());
+        dispatcher.register(literal("modify").redirect(dispatcher.getRoot(), c -> c.getSource()));
         forkedRedirect = dispatcher.parse("fork command", new Object());
+        redirectChain = dispatcher.parse("redirect redirect redirect redirect command", new Object());
+        modifiedRedirectChain = dispatcher.parse("modify modify modify modify command", new Object());
+        preparedSimple = dispatcher.prepare(simple);
+        preparedSingleRedirect = dispatcher.prepare(singleRedirect);
+        preparedForkedRedirect = dispatcher.prepare(forkedRedirect);
+        source = new Object();
+
+        final List<Object> wideSources = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            wideSources.add(new Object());
+        }
+        dispatcher.register(literal("wide").fork(dispatcher.getRoot(), o -> wideSources));
+        wideFork = dispatcher.parse("wide redirect command", new Object());
+
+        parallelDispatcher = new CommandDispatcher<>();
+        parallelDispatcher.setForkExecutor(ForkJoinPool.commonPool());
+        parallelDispatcher.register(literal("command").executes(c -> 0));
+        parallelDispatcher.register(literal("redirect").redirect(parallelDispatcher.getRoot()));
+        parallelDispatcher.register(literal("wide").fork(parallelDispatcher.getRoot(), o -> wideSources));
+        parallelWideFork = parallelDispatcher.parse("wide redirect command", new Object());
+
+        depthFirstDispatcher = new CommandDispatcher<>();
+        depthFirstDispatcher.setDepthFirstExecution(true);
+        depthFirstDispatcher.register(literal("command").executes(c -> 0));
+        depthFirstDispatcher.register(literal("redirect").redirect(depthFirstDispatcher.getRoot()));
+        depthFirstDispatcher.register(literal("wide").fork(depthFirstDispatcher.getRoot(), (StreamingRedirectModifier<Object>) o -> wideSources.iterator()));
+        depthFirstWideFork = depthFirstDispatcher.parse("wide redirect command", new Object());
     }
 
     @Benchmark
@@ -57,4 +101,60 @@ public class ExecuteBenchmarks {
     public void execute_forked_redirect() throws CommandSyntaxException {
         dispatcher.execute(forkedRedirect);
     }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void execute_redirect_chain() throws CommandSyntaxException {
+        dispatcher.execute(redirectChain);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void execute_modified_redirect_chain() throws CommandSyntaxException {
+        dispatcher.execute(modifiedRedirectChain);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void execute_simple_prepared() throws CommandSyntaxException {
+        preparedSimple.execute(source);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void execute_single_redirect_prepared() throws CommandSyntaxException {
+        preparedSingleRedirect.execute(source);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void execute_forked_redirect_prepared() throws CommandSyntaxException {
+        preparedForkedRedirect.execute(source);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void execute_wide_fork() throws CommandSyntaxException {
+        dispatcher.execute(wideFork);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void execute_wide_fork_parallel() throws CommandSyntaxException {
+        parallelDispatcher.execute(parallelWideFork);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void execute_wide_fork_depth_first() throws CommandSyntaxException {
+        depthFirstDispatcher.execute(depthFirstWideFork);
+    }
 }
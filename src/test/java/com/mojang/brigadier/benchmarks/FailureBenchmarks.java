@@ -0,0 +1,184 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.arguments.ArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mojang.brigadier.arguments.BoolArgumentType.bool;
+import static com.mojang.brigadier.arguments.DoubleArgumentType.doubleArg;
+import static com.mojang.brigadier.arguments.FloatArgumentType.floatArg;
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.arguments.LongArgumentType.longArg;
+import static com.mojang.brigadier.arguments.StringArgumentType.word;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+
+/**
+ * Parses malformed and ambiguous input, where most of the cost is in exceptions thrown by branches that don't match.
+ *
+ * <p>Run with {@code -prof gc}, which the {@code jmh} Gradle task does by default, to see allocation per operation.</p>
+ */
+@State(Scope.Benchmark)
+public class FailureBenchmarks {
+    private static final int DEPTH = 16;
+
+    @Param({"4", "16", "64"})
+    public int siblings;
+
+    private CommandDispatcher<Object> subject;
+    private String deepInvalidTail;
+    private String deepInvalidArgument;
+
+    @Setup
+    public void setup() {
+        subject = new CommandDispatcher<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            subject.register(literal("command_" + c).executes(ctx -> 0));
+        }
+        subject.register(literal("tp")
+            .then(argument("x", doubleArg())
+                .then(argument("y", doubleArg())
+                    .then(argument("z", doubleArg()).executes(c -> 0)))));
+        subject.register(literal("give")
+            .then(argument("item", word())
+                .then(argument("count", integer(1, 64)).executes(c -> 0))));
+
+        final LiteralArgumentBuilder<Object> ambiguous = literal("ambiguous");
+        final LiteralArgumentBuilder<Object> matchesLast = literal("matches_last");
+        for (int i = 0; i < siblings; i++) {
+            ambiguous.then(argument("arg" + i, numberOrBool(i)).executes(c -> 0));
+            matchesLast.then(argument("arg" + i, numberOrBool(i)).executes(c -> 0));
+        }
+        matchesLast.then(argument("word", word()).executes(c -> 0));
+        subject.register(ambiguous);
+        subject.register(matchesLast);
+
+        final StringBuilder literals = new StringBuilder("deep");
+        final StringBuilder numbers = new StringBuilder("deep_numbers");
+        ArgumentBuilder<Object, ?> deepLiteral = literal("l" + (DEPTH - 1)).executes(c -> 0);
+        ArgumentBuilder<Object, ?> deepNumber = argument("n" + (DEPTH - 1), integer()).executes(c -> 0);
+        for (int i = DEPTH - 2; i >= 0; i--) {
+            deepLiteral = literal("l" + i).then(deepLiteral);
+            deepNumber = argument("n" + i, integer()).then(deepNumber);
+        }
+        for (int i = 0; i < DEPTH; i++) {
+            literals.append(" l").append(i);
+            numbers.append(' ').append(i);
+        }
+        subject.register(literal("deep").then(deepLiteral));
+        subject.register(literal("deep_numbers").then(deepNumber));
+        deepInvalidTail = literals + " oops";
+        deepInvalidArgument = numbers.substring(0, numbers.length() - 1) + "x";
+    }
+
+    private static ArgumentType<?> numberOrBool(final int i) {
+        switch (i % 5) {
+            case 0:
+                return integer();
+            case 1:
+                return longArg();
+            case 2:
+                return floatArg();
+            case 3:
+                return doubleArg();
+            default:
+                return bool();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_unknown_command() {
+        return subject.parse("unknown 1 2 3", new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_typo() {
+        return subject.parse("command_q2", new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_wrong_type() {
+        return subject.parse("tp 1 two 3", new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_out_of_range() {
+        return subject.parse("give stone 65", new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_ambiguous_all_fail() {
+        return subject.parse("ambiguous xyz", new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_ambiguous_last_matches() {
+        return subject.parse("matches_last xyz", new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_deep_invalid_tail() {
+        return subject.parse(deepInvalidTail, new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse_deep_invalid_argument() {
+        return subject.parse(deepInvalidArgument, new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CommandSyntaxException execute_unknown_command() {
+        try {
+            subject.execute("unknown 1 2 3", new Object());
+            throw new IllegalStateException("Unknown command was executed");
+        } catch (final CommandSyntaxException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CommandSyntaxException execute_wrong_type() {
+        try {
+            subject.execute("tp 1 two 3", new Object());
+            throw new IllegalStateException("Invalid command was executed");
+        } catch (final CommandSyntaxException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures registering every command at server start, as a set of plugins each bringing their own commands.
+ *
+ * <p>Each operation generates the builders and registers them to a fresh dispatcher, since building is part of
+ * registering. Plugin commands tend to be shallow, so the trees are kept small and there are many of them.</p>
+ */
+@State(Scope.Benchmark)
+public class RegistrationBenchmarks {
+    @Param({"1", "50", "500"})
+    public int plugins;
+
+    @Param({"50000"})
+    public int nodes;
+
+    private CommandTreeGenerator[] generators;
+    private int nodesPerPlugin;
+
+    @Setup
+    public void setup() {
+        generators = new CommandTreeGenerator[plugins];
+        for (int i = 0; i < plugins; i++) {
+            generators[i] = new CommandTreeGenerator().breadth(3).depth(3).seed(i).prefix("plugin" + i + "_command");
+        }
+        nodesPerPlugin = nodes / plugins;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CommandDispatcher<Object> register() {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        for (final CommandTreeGenerator generator : generators) {
+            for (final LiteralArgumentBuilder<Object> command : generator.generate(nodesPerPlugin, dispatcher.getRoot())) {
+                dispatcher.register(command);
+            }
+        }
+        return dispatcher;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CommandDispatcher<Object> registerAll() {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        for (final CommandTreeGenerator generator : generators) {
+            dispatcher.registerAll(generator.generate(nodesPerPlugin, dispatcher.getRoot()));
+        }
+        return dispatcher;
+    }
+}
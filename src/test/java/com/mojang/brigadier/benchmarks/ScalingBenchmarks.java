@@ -0,0 +1,105 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.tree.CommandNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the cost of common operations grows with the size of the tree, on trees from
+ * {@link CommandTreeGenerator}.
+ *
+ * <p>Operations on a single command should stay flat as the tree grows, while those visiting the whole tree should grow
+ * no faster than the number of nodes.</p>
+ */
+@State(Scope.Benchmark)
+public class ScalingBenchmarks {
+    private static final int SAMPLES = 1024;
+
+    @Param({"100", "10000", "1000000"})
+    public int nodes;
+
+    private final CommandTreeGenerator generator = new CommandTreeGenerator();
+    private CommandDispatcher<Object> subject;
+    private String[] inputs;
+    private ParseResults<Object>[] partials;
+    private CommandNode<Object>[] roots;
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        subject = generator.generateDispatcher(nodes);
+
+        final List<String> samples = CommandTreeGenerator.sampleInputs(subject, SAMPLES, 1);
+        inputs = samples.toArray(new String[0]);
+        final List<String> partialInputs = CommandTreeGenerator.partialInputs(samples);
+        partials = new ParseResults[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            partials[i] = subject.parse(partialInputs.get(i), new Object());
+        }
+        roots = new ArrayList<>(subject.getRoot().getChildren()).toArray(new CommandNode[0]);
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLES - 1);
+        return index;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ParseResults<Object> parse() {
+        return subject.parse(inputs[next()], new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Suggestions suggest() {
+        return subject.getCompletionSuggestions(partials[next()]).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Map<CommandNode<Object>, String> smart_usage() {
+        return subject.getSmartUsage(roots[next() % roots.length], new Object());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int find_ambiguities() {
+        final int[] found = new int[1];
+        subject.findAmbiguities((parent, child, sibling, inputs) -> found[0]++);
+        return found[0];
+    }
+
+    /**
+     * Builds and registers the whole tree. Builders build their children as they're added, so this includes
+     * generating them.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CommandDispatcher<Object> register() {
+        return generator.generateDispatcher(nodes);
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.suggestion.Suggestions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+
+@State(Scope.Benchmark)
+public class SuggestionBenchmarks {
+    private static final int LITERAL_COUNT = 5000;
+    private static final String[] WORDS = {"game", "mode", "rule", "set", "block", "give", "summon", "tell", "raw", "spawn", "point", "world", "border", "team", "list"};
+
+    private CommandDispatcher<Object> prefix;
+    private CommandDispatcher<Object> fuzzy;
+    private ParseResults<Object> prefixInput;
+    private ParseResults<Object> fuzzyInput;
+    private ParseResults<Object> fuzzyPrefixInput;
+    private ParseResults<Object> wideRedirectedInput;
+
+    @Setup
+    public void setup() {
+        prefix = new CommandDispatcher<>();
+        fuzzy = new CommandDispatcher<>();
+        fuzzy.setFuzzySuggestions(true);
+        for (int i = 0; i < LITERAL_COUNT; i++) {
+            final String name = WORDS[i % WORDS.length] + WORDS[(i / WORDS.length) % WORDS.length] + i;
+            prefix.register(literal(name).executes(c -> 0));
+            fuzzy.register(literal(name).executes(c -> 0));
+        }
+        final LiteralArgumentBuilder<Object> wide = literal("wide");
+        for (int i = 0; i < LITERAL_COUNT; i++) {
+            wide.then(literal("child" + i).executes(c -> 0));
+        }
+        prefix.register(wide);
+        prefix.register(literal("redirect").then(argument("value", integer()).redirect(prefix.getRoot())));
+
+        prefixInput = prefix.parse("gam", new Object());
+        wideRedirectedInput = prefix.parse("redirect 1 redirect 2 redirect 3 wide ", new Object());
+        fuzzyInput = fuzzy.parse("gmr", new Object());
+        fuzzyPrefixInput = fuzzy.parse("gam", new Object());
+        // Build the per-node index up front, as it would be after the first request
+        fuzzy.getCompletionSuggestions(fuzzyInput).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Suggestions suggest_prefix() {
+        return prefix.getCompletionSuggestions(prefixInput).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Suggestions suggest_fuzzy() {
+        return fuzzy.getCompletionSuggestions(fuzzyInput).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Suggestions suggest_fuzzy_prefix() {
+        return fuzzy.getCompletionSuggestions(fuzzyPrefixInput).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Suggestions suggest_wide_redirected() {
+        return prefix.getCompletionSuggestions(wideRedirectedInput).join();
+    }
+}
@@ -0,0 +1,125 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.benchmarks;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.VirtualThreads;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmarks {
+    private static final int SOURCES = 200;
+    private static final int PLATFORM_THREADS = 16;
+
+    @Param({"1000"})
+    public long latencyMicros;
+
+    private ExecutorService platform;
+    private ExecutorService virtual;
+    private CommandDispatcher<Object> platformDispatcher;
+    private CommandDispatcher<Object> virtualDispatcher;
+    private ParseResults<Object> platformFork;
+    private ParseResults<Object> virtualFork;
+    private ParseResults<Object> blocking;
+
+    @Setup
+    public void setup() {
+        platform = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        virtual = VirtualThreads.newExecutor();
+
+        final List<Object> sources = new ArrayList<>();
+        for (int i = 0; i < SOURCES; i++) {
+            sources.add(new Object());
+        }
+
+        platformDispatcher = createDispatcher(sources);
+        platformDispatcher.setForkExecutor(platform, true);
+        virtualDispatcher = createDispatcher(sources);
+        virtualDispatcher.setForkExecutor(virtual, true);
+
+        platformFork = platformDispatcher.parse("fork io", new Object());
+        virtualFork = virtualDispatcher.parse("fork io", new Object());
+        blocking = platformDispatcher.parse("io", new Object());
+    }
+
+    private CommandDispatcher<Object> createDispatcher(final List<Object> sources) {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("io").executes(c -> {
+            // Simulated I/O latency
+            try {
+                TimeUnit.MICROSECONDS.sleep(latencyMicros);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }));
+        dispatcher.register(literal("fork").fork(dispatcher.getRoot(), o -> sources));
+        return dispatcher;
+    }
+
+    @TearDown
+    public void tearDown() {
+        platform.shutdownNow();
+        virtual.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int fork_platform() throws CommandSyntaxException {
+        return platformDispatcher.execute(platformFork);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int fork_virtual() throws CommandSyntaxException {
+        return virtualDispatcher.execute(virtualFork);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int top_level_platform() {
+        return executeConcurrently(platform);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int top_level_virtual() {
+        return executeConcurrently(virtual);
+    }
+
+    private int executeConcurrently(final ExecutorService executor) {
+        @SuppressWarnings("unchecked") final CompletableFuture<Integer>[] results = new CompletableFuture[SOURCES];
+        for (int i = 0; i < SOURCES; i++) {
+            results[i] = platformDispatcher.executeAsync(blocking, executor);
+        }
+        int result = 0;
+        for (final CompletableFuture<Integer> future : results) {
+            result += future.join();
+        }
+        return result;
+    }
+}
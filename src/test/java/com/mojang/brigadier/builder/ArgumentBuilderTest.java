@@ -34,6 +34,11 @@ public class ArgumentBuilderTest {
         assertThat(builder.getArguments(), hasItem((CommandNode<Object>) argument.build()));
     }
 
+    @Test
+    public void testArguments_empty() throws Exception {
+        assertThat(builder.getArguments(), hasSize(0));
+    }
+
     @Test
     public void testRedirect() throws Exception {
         final CommandNode<Object> target = mock(CommandNode.class);
@@ -3,24 +3,40 @@ package com.mojang.brigadier.context;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.CommandDispatcherTest;
+import com.mojang.brigadier.LiteralMessage;
 import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.ResultConsumer;
+import com.mojang.brigadier.StreamingRedirectModifier;
+import com.mojang.brigadier.VirtualThreads;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -78,6 +94,7 @@ public class ContextChainTest {
         verify(command).run(argThat(CommandDispatcherTest.contextSourceMatches(redirectedSource)));
 
         verify(consumer).onCommandComplete(argThat(CommandDispatcherTest.contextSourceMatches(redirectedSource)), eq(true), eq(4));
+        verify(consumer, times(2)).onStageComplete();
         verifyNoMoreInteractions(consumer);
     }
 
@@ -134,4 +151,288 @@ public class ContextChainTest {
         final CommandContext<Object> topContext = result.getContext().build("bar bar");
         assertThat(ContextChain.tryFlatten(topContext), is(Optional.empty()));
     }
+
+    private static CommandDispatcher<Object> createWideFork(final int width) {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        final SimpleCommandExceptionType odd = new SimpleCommandExceptionType(new LiteralMessage("odd"));
+        dispatcher.register(literal("foo").executes(context -> {
+            final int value = (Integer) context.getSource();
+            if (value % 2 == 1) {
+                throw odd.create();
+            }
+            return value;
+        }));
+        dispatcher.register(literal("fork").fork(dispatcher.getRoot(), context -> {
+            final List<Object> sources = new ArrayList<>();
+            for (int i = 0; i < width; i++) {
+                sources.add(i);
+            }
+            return sources;
+        }));
+        return dispatcher;
+    }
+
+    private static List<String> executeWideFork(final CommandDispatcher<Object> dispatcher, final ExecutorService executor) throws CommandSyntaxException {
+        final List<String> events = new ArrayList<>();
+        final ContextChain<Object> chain = ContextChain.tryFlatten(dispatcher.parse("fork foo", new Object()).getContext().build("fork foo")).orElseThrow(AssertionError::new);
+        final int result = chain.executeAll(new Object(), (context, success, value) -> events.add(context.getSource() + ":" + success + ":" + value), executor);
+        events.add("result:" + result);
+        return events;
+    }
+
+    @Test
+    public void testExecuteAllParallel_matchesSequential() throws CommandSyntaxException {
+        final CommandDispatcher<Object> dispatcher = createWideFork(1000);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<String> expected = executeWideFork(dispatcher, null);
+            assertThat(expected.get(expected.size() - 1), is("result:500"));
+            assertThat(executeWideFork(dispatcher, executor), is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteAllParallel_belowThreshold() throws CommandSyntaxException {
+        final CommandDispatcher<Object> dispatcher = createWideFork(ContextChain.PARALLEL_THRESHOLD - 1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executeWideFork(dispatcher, executor), is(executeWideFork(dispatcher, null)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteAllParallel_runtimeException() throws CommandSyntaxException {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("foo").executes(context -> {
+            throw new IllegalStateException("source " + context.getSource());
+        }));
+        dispatcher.register(literal("fork").fork(dispatcher.getRoot(), context -> {
+            final List<Object> sources = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                sources.add(i);
+            }
+            return sources;
+        }));
+        final ContextChain<Object> chain = ContextChain.tryFlatten(dispatcher.parse("fork foo", new Object()).getContext().build("fork foo")).orElseThrow(AssertionError::new);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            chain.executeAll(new Object(), (context, success, result) -> {}, executor);
+            fail();
+        } catch (final IllegalStateException ex) {
+            assertThat(ex.getMessage(), is("source 0"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteAllParallel_runtimeExceptionStopsLaterSources() throws CommandSyntaxException {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("foo").executes(context -> {
+            if ((Integer) context.getSource() == 500) {
+                throw new IllegalStateException("source 500");
+            }
+            return 1;
+        }));
+        dispatcher.register(literal("fork").fork(dispatcher.getRoot(), context -> {
+            final List<Object> sources = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                sources.add(i);
+            }
+            return sources;
+        }));
+        final ContextChain<Object> chain = ContextChain.tryFlatten(dispatcher.parse("fork foo", new Object()).getContext().build("fork foo")).orElseThrow(AssertionError::new);
+
+        final List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            expected.add(i);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (final ExecutorService used : Arrays.asList(null, executor)) {
+                final List<Object> sources = new ArrayList<>();
+                try {
+                    chain.executeAll(new Object(), (context, success, result) -> sources.add(context.getSource()), used);
+                    fail();
+                } catch (final IllegalStateException ex) {
+                    assertThat(ex.getMessage(), is("source 500"));
+                }
+                assertThat(sources, is(expected));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteAllParallel_nestedForkOnBoundedExecutor() throws Exception {
+        final CommandDispatcher<Object> dispatcher = createWideFork(200);
+        dispatcher.register(literal("nested").executes(context -> dispatcher.execute("fork foo", context.getSource())));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        dispatcher.setForkExecutor(executor);
+
+        final ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            // Would deadlock if the pool's two threads both waited on nested work queued behind them
+            assertThat(caller.submit(() -> dispatcher.execute("fork nested", new Object())).get(30, TimeUnit.SECONDS), is(200));
+        } finally {
+            caller.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExecuteAllPerSource_runsConcurrently() throws CommandSyntaxException {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("foo").executes(context -> {
+            latch.countDown();
+            try {
+                // Only completes if every source is blocked here at the same time
+                return latch.await(10, TimeUnit.SECONDS) ? 1 : 0;
+            } catch (final InterruptedException e) {
+                return 0;
+            }
+        }));
+        dispatcher.register(literal("fork").fork(dispatcher.getRoot(), context -> Arrays.asList(1, 2, 3)));
+        final ContextChain<Object> chain = ContextChain.tryFlatten(dispatcher.parse("fork foo", new Object()).getContext().build("fork foo")).orElseThrow(AssertionError::new);
+
+        final List<Object> sources = new ArrayList<>();
+        final ExecutorService executor = VirtualThreads.newExecutor();
+        try {
+            assertThat(chain.executeAll(new Object(), (context, success, result) -> sources.add(context.getSource()), executor, true), is(3));
+            assertThat(sources, is(Arrays.<Object>asList(1, 2, 3)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteAllDepthFirst_sameResults() throws CommandSyntaxException {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        final SimpleCommandExceptionType rejected = new SimpleCommandExceptionType(new LiteralMessage("rejected"));
+        dispatcher.register(literal("foo").executes(context -> ((String) context.getSource()).length()));
+        dispatcher.register(literal("split").fork(dispatcher.getRoot(), context -> {
+            final String source = (String) context.getSource();
+            if (source.endsWith("b")) {
+                throw rejected.create();
+            }
+            return Arrays.asList(source + "a", source + "b");
+        }));
+        final ContextChain<Object> chain = ContextChain.tryFlatten(dispatcher.parse("split split foo", "").getContext().build("split split foo")).orElseThrow(AssertionError::new);
+
+        final List<String> breadthFirst = new ArrayList<>();
+        assertThat(chain.executeAll("", (context, success, result) -> breadthFirst.add(context.getSource() + ":" + success)), is(2));
+        assertThat(breadthFirst, is(Arrays.asList("b:false", "aa:true", "ab:true")));
+
+        final List<String> depthFirst = new ArrayList<>();
+        assertThat(chain.executeAllDepthFirst("", (context, success, result) -> depthFirst.add(context.getSource() + ":" + success)), is(2));
+        assertThat(depthFirst, is(Arrays.asList("aa:true", "ab:true", "b:false")));
+    }
+
+    @Test
+    public void testExecuteAllDepthFirst_nonForkedFailure() {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        final SimpleCommandExceptionType rejected = new SimpleCommandExceptionType(new LiteralMessage("rejected"));
+        dispatcher.register(literal("foo").executes(context -> {
+            throw rejected.create();
+        }));
+        dispatcher.register(literal("bar").redirect(dispatcher.getRoot()));
+        final ContextChain<Object> chain = ContextChain.tryFlatten(dispatcher.parse("bar foo", "").getContext().build("bar foo")).orElseThrow(AssertionError::new);
+
+        try {
+            chain.executeAllDepthFirst("", (context, success, result) -> {});
+            fail();
+        } catch (final CommandSyntaxException ex) {
+            assertThat(ex.getType(), is(rejected));
+        }
+    }
+
+    @Test
+    public void testExecuteAllDepthFirst_streamsSources() throws CommandSyntaxException {
+        final int[] produced = new int[1];
+        final int[] executed = new int[1];
+        final int[] maxPending = new int[1];
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("foo").executes(context -> {
+            executed[0]++;
+            maxPending[0] = Math.max(maxPending[0], produced[0] - executed[0]);
+            return 1;
+        }));
+        dispatcher.register(literal("many").fork(dispatcher.getRoot(), (StreamingRedirectModifier<Object>) context -> new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return produced[0] < 100000;
+            }
+
+            @Override
+            public Object next() {
+                return produced[0]++;
+            }
+        }));
+        dispatcher.register(literal("same").fork(dispatcher.getRoot(), context -> Collections.singleton(context.getSource())));
+        dispatcher.setDepthFirstExecution(true);
+
+        assertThat(dispatcher.execute("many same foo", new Object()), is(100000));
+        assertThat(executed[0], is(100000));
+        // Every source is executed before the next one is produced
+        assertThat(maxPending[0], is(0));
+    }
+
+    private static ContextChain<Object> createNonForkedSplit(final String command) {
+        final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("max").executes(context -> Integer.MAX_VALUE));
+        dispatcher.register(literal("source").executes(context -> (Integer) context.getSource()));
+        dispatcher.register(literal("redirect").redirect(dispatcher.getRoot()));
+        dispatcher.register(literal("split").forward(dispatcher.getRoot(), context -> {
+            final int source = (Integer) context.getSource();
+            return Arrays.asList(source * 10 + 1, source * 10 + 2);
+        }, false));
+        return ContextChain.tryFlatten(dispatcher.parse(command, 0).getContext().build(command)).orElseThrow(AssertionError::new);
+    }
+
+    @Test
+    public void testExecuteAll_multipleStagesWithoutFork() throws CommandSyntaxException {
+        final ContextChain<Object> chain = createNonForkedSplit("redirect split redirect split redirect source");
+        final List<Object> sources = new ArrayList<>();
+
+        assertThat(chain.executeAll(0, (context, success, result) -> sources.add(context.getSource())), is(11 + 12 + 21 + 22));
+        assertThat(sources, is(Arrays.<Object>asList(11, 12, 21, 22)));
+    }
+
+    @Test
+    public void testExecuteAll_overflowPolicy() throws CommandSyntaxException {
+        final ContextChain<Object> chain = createNonForkedSplit("split max");
+        final ResultConsumer<Object> consumer = (context, success, result) -> {};
+
+        assertThat(chain.executeAll(0, consumer), is(-2));
+        assertThat(chain.executeAll(0, consumer, null, false, ResultOverflowPolicy.WRAP), is(-2));
+        assertThat(chain.executeAll(0, consumer, null, false, ResultOverflowPolicy.SATURATE), is(Integer.MAX_VALUE));
+        assertThat(chain.executeAllDepthFirst(0, consumer, ResultOverflowPolicy.SATURATE), is(Integer.MAX_VALUE));
+        try {
+            chain.executeAll(0, consumer, null, false, ResultOverflowPolicy.FAIL);
+            fail();
+        } catch (final ArithmeticException ignored) {
+        }
+    }
+
+    @Test
+    public void testExecuteAllAsync_overflowPolicy() throws Exception {
+        final ContextChain<Object> chain = createNonForkedSplit("split max");
+        final ResultConsumer<Object> consumer = (context, success, result) -> {};
+
+        assertThat(chain.executeAllAsync(0, consumer).get(), is(-2));
+        assertThat(chain.executeAllAsync(0, consumer, ResultOverflowPolicy.SATURATE).get(), is(Integer.MAX_VALUE));
+        try {
+            chain.executeAllAsync(0, consumer, ResultOverflowPolicy.FAIL).get();
+            fail();
+        } catch (final ExecutionException ex) {
+            assertThat(ex.getCause() instanceof ArithmeticException, is(true));
+        }
+    }
 }
@@ -0,0 +1,130 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.context;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.ResultConsumer;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ResumableExecutionTest {
+    private final SimpleCommandExceptionType rejected = new SimpleCommandExceptionType(new LiteralMessage("rejected"));
+    private CommandDispatcher<Object> dispatcher;
+
+    @Before
+    public void setUp() {
+        dispatcher = new CommandDispatcher<>();
+        dispatcher.register(literal("length").executes(context -> ((String) context.getSource()).length()));
+        dispatcher.register(literal("fail").executes(context -> {
+            throw rejected.create();
+        }));
+        dispatcher.register(literal("redirect").redirect(dispatcher.getRoot()));
+        dispatcher.register(literal("split").fork(dispatcher.getRoot(), context -> {
+            final String source = (String) context.getSource();
+            if (source.endsWith("c")) {
+                throw rejected.create();
+            }
+            return Arrays.asList(source + "a", source + "b", source + "c");
+        }));
+    }
+
+    private ContextChain<Object> flatten(final String command) {
+        return ContextChain.tryFlatten(dispatcher.parse(command, "").getContext().build(command)).orElseThrow(AssertionError::new);
+    }
+
+    private static ResultConsumer<Object> recorder(final List<String> events) {
+        return (context, success, result) -> events.add(context.getSource() + ":" + success + ":" + result);
+    }
+
+    @Test
+    public void testSingleOperationSlices() throws CommandSyntaxException {
+        final ContextChain<Object> chain = flatten("split redirect split length");
+        final List<String> expected = new ArrayList<>();
+        final int expectedResult = chain.executeAll("", recorder(expected));
+
+        final List<String> events = new ArrayList<>();
+        final ResumableExecution<Object> execution = chain.startExecution("", recorder(events));
+        int slices = 0;
+        while (!execution.run(1, Long.MAX_VALUE)) {
+            slices++;
+        }
+
+        assertThat(events, is(expected));
+        assertThat(execution.getResult(), is(expectedResult));
+        assertThat(execution.getResult(), is(6));
+        // split, redirect x3, split x3, length x6, minus the one finishing the execution
+        assertThat(slices, is(12));
+    }
+
+    @Test
+    public void testRunToCompletion() throws CommandSyntaxException {
+        final ResumableExecution<Object> execution = flatten("redirect length").startExecution("abc", (context, success, result) -> {});
+
+        assertThat(execution.isDone(), is(false));
+        assertThat(execution.runToCompletion(), is(3));
+        assertThat(execution.isDone(), is(true));
+    }
+
+    @Test
+    public void testTimeLimitStillMakesProgress() throws CommandSyntaxException {
+        final ResumableExecution<Object> execution = flatten("split length").startExecution("", (context, success, result) -> {});
+
+        assertThat(execution.run(Integer.MAX_VALUE, 0), is(false));
+        int slices = 1;
+        while (!execution.run(Integer.MAX_VALUE, 0)) {
+            slices++;
+        }
+        assertThat(slices, is(3));
+        assertThat(execution.getResult(), is(3));
+    }
+
+    @Test
+    public void testFailureFinishesExecution() throws CommandSyntaxException {
+        final ResumableExecution<Object> execution = flatten("redirect fail").startExecution("", (context, success, result) -> {});
+
+        assertThat(execution.run(1, Long.MAX_VALUE), is(false));
+        try {
+            execution.run(1, Long.MAX_VALUE);
+            fail();
+        } catch (final CommandSyntaxException ex) {
+            assertThat(ex.getType(), is(rejected));
+        }
+        assertThat(execution.isDone(), is(true));
+    }
+
+    @Test
+    public void testOverflowPolicy() throws CommandSyntaxException {
+        dispatcher.register(literal("max").executes(context -> Integer.MAX_VALUE));
+        dispatcher.register(literal("twice").forward(dispatcher.getRoot(), context -> Arrays.asList(context.getSource(), context.getSource()), false));
+        final ContextChain<Object> chain = flatten("twice max");
+        final ResultConsumer<Object> consumer = (context, success, result) -> {};
+
+        assertThat(chain.startExecution("", consumer).runToCompletion(), is(-2));
+        assertThat(chain.startExecution("", consumer, ResultOverflowPolicy.SATURATE).runToCompletion(), is(Integer.MAX_VALUE));
+        final ResumableExecution<Object> failing = chain.startExecution("", consumer, ResultOverflowPolicy.FAIL);
+        try {
+            failing.runToCompletion();
+            fail();
+        } catch (final ArithmeticException ignored) {
+        }
+        assertThat(failing.isDone(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResultBeforeDone() {
+        flatten("length").startExecution("", (context, success, result) -> {}).getResult();
+    }
+}
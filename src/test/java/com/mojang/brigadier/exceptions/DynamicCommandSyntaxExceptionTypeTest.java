@@ -29,4 +29,18 @@ public class DynamicCommandSyntaxExceptionTypeTest {
         assertThat(exception.getInput(), is("Foo bar"));
         assertThat(exception.getCursor(), is(5));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void messageIsLazy() throws Exception {
+        final int[] calls = new int[1];
+        final DynamicCommandExceptionType counting = new DynamicCommandExceptionType(name -> {
+            calls[0]++;
+            return new LiteralMessage("Hello, " + name + "!");
+        });
+        final CommandSyntaxException exception = counting.createWithContext(new StringReader("Foo bar"), "World");
+        assertThat(calls[0], is(0));
+        assertThat(exception.getMessage(), is("Hello, World! at position 0: <--[HERE]"));
+        assertThat(exception.getRawMessage().getString(), is("Hello, World!"));
+        assertThat(calls[0], is(1));
+    }
+}
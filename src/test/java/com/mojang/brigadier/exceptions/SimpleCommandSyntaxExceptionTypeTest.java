@@ -26,6 +26,38 @@ public class SimpleCommandSyntaxExceptionTypeTest {
         assertThat(exception.getCursor(), is(5));
     }
 
+    @Test
+    public void stackTracePolicy() throws Exception {
+        final SimpleCommandExceptionType never = new SimpleCommandExceptionType(new LiteralMessage("error"), StackTracePolicy.NEVER);
+        assertThat(never.create().getStackTrace().length, is(0));
+
+        final SimpleCommandExceptionType always = new SimpleCommandExceptionType(new LiteralMessage("error"), StackTracePolicy.ALWAYS);
+        final boolean global = CommandSyntaxException.ENABLE_COMMAND_STACK_TRACES;
+        CommandSyntaxException.ENABLE_COMMAND_STACK_TRACES = false;
+        try {
+            assertThat(always.create().getStackTrace().length > 0, is(true));
+            assertThat(new SimpleCommandExceptionType(new LiteralMessage("error")).create().getStackTrace().length, is(0));
+        } finally {
+            CommandSyntaxException.ENABLE_COMMAND_STACK_TRACES = global;
+        }
+    }
+
+    @Test
+    public void builtInStackTracePolicy() throws Exception {
+        assertThat(CommandSyntaxException.BUILT_IN_EXCEPTIONS.readerExpectedInt().getStackTracePolicy(), is(StackTracePolicy.NEVER));
+        assertThat(CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherUnknownCommand().getStackTracePolicy(), is(StackTracePolicy.GLOBAL));
+    }
+
+    @Test
+    public void getPreallocated() throws Exception {
+        final SimpleCommandExceptionType type = new SimpleCommandExceptionType(new LiteralMessage("error"), StackTracePolicy.ALWAYS);
+        final CommandSyntaxException exception = type.getPreallocated();
+        assertThat(type.getPreallocated(), is(exception));
+        assertThat(exception.getType(), is(type));
+        assertThat(exception.getMessage(), is("error"));
+        assertThat(exception.getContext(), is(nullValue()));
+        assertThat(exception.getStackTrace().length, is(0));
+    }
 
     @Test
     public void getContext_none() throws Exception {
@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.jfr;
+
+import com.mojang.brigadier.CommandDispatcher;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CommandEventsTest {
+    private CommandDispatcher<Object> subject;
+
+    @Before
+    public void setUp() throws Exception {
+        subject = new CommandDispatcher<>();
+        subject.register(literal("foo").then(argument("bar", integer()).executes(c -> 42)));
+        subject.register(literal("fob"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        assertThat(CommandEvents.beginParse(), is((Object) null));
+        assertThat(CommandEvents.beginSuggest(), is((Object) null));
+        assertThat(CommandEvents.beginExecute(), is((Object) null));
+        assertThat(subject.execute("foo 1", new Object()), is(42));
+    }
+
+    @Test
+    public void testRecorded() throws Exception {
+        if (!CommandEvents.isAvailable()) {
+            return;
+        }
+
+        final Path file = Files.createTempFile("brigadier", ".jfr");
+        try {
+            try (final Recording recording = new Recording()) {
+                recording.enable("com.mojang.brigadier.CommandParse");
+                recording.enable("com.mojang.brigadier.CommandSuggest");
+                recording.enable("com.mojang.brigadier.CommandExecute");
+                recording.start();
+                subject.execute("foo 1", new Object());
+                subject.getCompletionSuggestions(subject.parse("fo", new Object())).join();
+                recording.stop();
+                recording.dump(file);
+            }
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            final List<RecordedEvent> parses = byName(events, "com.mojang.brigadier.CommandParse");
+            assertThat(parses.size(), is(2));
+            assertThat(parses.get(0).getString("nodePath"), is("foo bar"));
+            assertThat(parses.get(0).getInt("inputLength"), is(5));
+            assertThat(parses.get(0).getInt("branches"), is(2));
+            assertThat(parses.get(0).getInt("exceptions"), is(0));
+            assertThat(parses.get(0).getBoolean("complete"), is(true));
+
+            final List<RecordedEvent> executions = byName(events, "com.mojang.brigadier.CommandExecute");
+            assertThat(executions.size(), is(1));
+            assertThat(executions.get(0).getString("nodePath"), is("foo bar"));
+            assertThat(executions.get(0).getInt("result"), is(42));
+            assertThat(executions.get(0).getBoolean("failed"), is(false));
+
+            final List<RecordedEvent> suggestions = byName(events, "com.mojang.brigadier.CommandSuggest");
+            assertThat(suggestions.size(), is(1));
+            assertThat(suggestions.get(0).getInt("cursor"), is(2));
+            assertThat(suggestions.get(0).getInt("suggestions"), is(2));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> byName(final List<RecordedEvent> events, final String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,133 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.metrics;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CommandMetricsRecorderTest {
+    private CommandDispatcher<Object> subject;
+    private CommandMetricsRecorder<Object> recorder;
+
+    @Before
+    public void setUp() {
+        final SimpleCommandExceptionType rejected = new SimpleCommandExceptionType(new LiteralMessage("rejected"));
+        subject = new CommandDispatcher<>();
+        subject.register(literal("foo").then(argument("value", integer()).executes(context -> {
+            if (context.getArgument("value", Integer.class) < 0) {
+                throw rejected.create();
+            }
+            return 1;
+        })));
+        subject.register(literal("split").fork(subject.getRoot(), context -> Arrays.asList(1, 2, 3)));
+        recorder = new CommandMetricsRecorder<>();
+        subject.setMetrics(recorder);
+    }
+
+    private CommandNode<Object> node(final String... path) {
+        return subject.findNode(Arrays.asList(path));
+    }
+
+    @Test
+    public void testParse() {
+        subject.parse("foo 1", new Object());
+        subject.parse("foo x", new Object());
+
+        final NodeMetricsSnapshot<Object> foo = recorder.snapshot(node("foo"));
+        assertThat(foo.getParseAttempts(), is(2L));
+        assertThat(foo.getParseFailures(), is(0L));
+
+        final NodeMetricsSnapshot<Object> value = recorder.snapshot(node("foo", "value"));
+        assertThat(value.getParseAttempts(), is(2L));
+        assertThat(value.getParseFailures(), is(1L));
+        assertThat(value.getParseFailureRate(), is(0.5));
+        assertThat(recorder.snapshot(node("split")), nullValue());
+    }
+
+    @Test
+    public void testExecute() throws CommandSyntaxException {
+        subject.execute("foo 1", new Object());
+        try {
+            subject.execute("foo -1", new Object());
+            fail();
+        } catch (final CommandSyntaxException ignored) {
+        }
+        subject.execute("split foo 2", new Object());
+
+        final NodeMetricsSnapshot<Object> value = recorder.snapshot(node("foo", "value"));
+        assertThat(value.getExecutions(), is(5L));
+        assertThat(value.getExecutionFailures(), is(1L));
+        assertThat(value.getExecutionFailureRate(), is(0.2));
+
+        final NodeMetricsSnapshot<Object> split = recorder.snapshot(node("split"));
+        assertThat(split.getRedirects(), is(1L));
+        assertThat(split.getRedirectFailures(), is(0L));
+        assertThat(split.getExecutions(), is(0L));
+        assertThat(recorder.snapshot().size(), is(3));
+    }
+
+    @Test
+    public void testExecuteRuntimeException() throws CommandSyntaxException {
+        subject.register(literal("crash").executes(context -> {
+            throw new IllegalStateException("crash");
+        }));
+        subject.register(literal("bad").fork(subject.getRoot(), context -> {
+            throw new IllegalStateException("bad");
+        }));
+        for (final String command : Arrays.asList("crash", "bad crash")) {
+            try {
+                subject.execute(command, new Object());
+                fail();
+            } catch (final IllegalStateException ignored) {
+            }
+        }
+
+        final NodeMetricsSnapshot<Object> crash = recorder.snapshot(node("crash"));
+        assertThat(crash.getExecutions(), is(1L));
+        assertThat(crash.getExecutionFailures(), is(1L));
+
+        final NodeMetricsSnapshot<Object> bad = recorder.snapshot(node("bad"));
+        assertThat(bad.getRedirects(), is(1L));
+        assertThat(bad.getRedirectFailures(), is(1L));
+    }
+
+    @Test
+    public void testLatencyPercentile() {
+        final CommandNode<Object> node = node("foo");
+        recorder.recordExecution(node, true, 0);
+        recorder.recordExecution(node, true, 3);
+        recorder.recordExecution(node, true, 100);
+        recorder.recordExecution(node, true, 1000);
+
+        final NodeMetricsSnapshot<Object> snapshot = recorder.snapshot(node);
+        assertThat(snapshot.getTotalNanos(), is(1103L));
+        assertThat(snapshot.getLatencyPercentile(0), is(1L));
+        assertThat(snapshot.getLatencyPercentile(0.5), is(4L));
+        assertThat(snapshot.getLatencyPercentile(0.75), is(128L));
+        assertThat(snapshot.getLatencyPercentile(1), is(1024L));
+    }
+
+    @Test
+    public void testReset() {
+        subject.parse("foo 1", new Object());
+        recorder.reset();
+
+        assertThat(recorder.snapshot().isEmpty(), is(true));
+    }
+}
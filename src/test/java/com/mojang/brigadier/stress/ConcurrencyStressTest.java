@@ -0,0 +1,151 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.stress;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.LiteralMessage;
+import com.mojang.brigadier.SlowCommandLog;
+import com.mojang.brigadier.SlowCommandRecord;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import com.mojang.brigadier.metrics.CommandMetricsRecorder;
+import com.mojang.brigadier.suggestion.SuggestionCache;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ConcurrencyStressTest {
+    private static final int ITERATIONS = 2000;
+
+    @Test
+    public void testMetricsRecorderCounts() throws Exception {
+        final LiteralCommandNode<Object> node = literal("foo").build();
+        final StressHarness<CommandMetricsRecorder<Object>> harness = new StressHarness<>(
+            CommandMetricsRecorder::new,
+            recorder -> recorder.recordParse(node, true),
+            recorder -> recorder.recordParse(node, false),
+            recorder -> recorder.recordExecution(node, true, 100)
+        );
+
+        final Map<String, Long> outcomes = harness.run(ITERATIONS, recorder -> {
+            final long attempts = recorder.snapshot(node).getParseAttempts();
+            final long failures = recorder.snapshot(node).getParseFailures();
+            final long executions = recorder.snapshot(node).getExecutions();
+            return attempts + "," + failures + "," + executions;
+        });
+        assertThat(outcomes, is(Collections.singletonMap("2,1,1", (long) ITERATIONS)));
+    }
+
+    @Test
+    public void testSuggestionCachePuts() throws Exception {
+        final LiteralCommandNode<Object> node = literal("foo").build();
+        final Suggestions suggestions = Suggestions.empty().join();
+        final StressHarness<SuggestionCache<Object>> harness = new StressHarness<>(
+            () -> new SuggestionCache<>(2),
+            cache -> cache.put(node, 0, "a", 0, suggestions),
+            cache -> cache.put(node, 0, "b", 0, suggestions),
+            cache -> cache.get(node, 0, "a")
+        );
+
+        final Map<String, Long> outcomes = harness.run(ITERATIONS, cache -> cache.size() + "," + (cache.get(node, 0, "a") != null) + "," + (cache.get(node, 0, "b") != null));
+        assertThat(outcomes, is(Collections.singletonMap("2,true,true", (long) ITERATIONS)));
+    }
+
+    @Test
+    public void testLazyMessage() throws Exception {
+        final AtomicInteger formatted = new AtomicInteger();
+        final DynamicCommandExceptionType type = new DynamicCommandExceptionType(value -> {
+            formatted.incrementAndGet();
+            return new LiteralMessage("Invalid " + value);
+        });
+        final String[] messages = new String[2];
+        final StressHarness<CommandSyntaxException> harness = new StressHarness<>(
+            () -> {
+                formatted.set(0);
+                return type.createWithContext(new StringReader("input"), "value");
+            },
+            exception -> messages[0] = exception.getRawMessage().getString(),
+            exception -> messages[1] = exception.getRawMessage().getString()
+        );
+
+        final Map<String, Long> outcomes = harness.run(ITERATIONS, exception -> messages[0] + "," + messages[1]);
+        assertThat(outcomes, is(Collections.singletonMap("Invalid value,Invalid value", (long) ITERATIONS)));
+        // Formatting twice is acceptable, but never more than once per thread; checked for the last iteration
+        assertThat(formatted.get() <= 2, is(true));
+    }
+
+    @Test
+    public void testPreallocated() throws Exception {
+        final CommandSyntaxException[] seen = new CommandSyntaxException[2];
+        final StressHarness<SimpleCommandExceptionType> harness = new StressHarness<>(
+            () -> new SimpleCommandExceptionType(new LiteralMessage("error")),
+            type -> seen[0] = type.getPreallocated(),
+            type -> seen[1] = type.getPreallocated()
+        );
+
+        final Map<String, Long> outcomes = harness.run(ITERATIONS, type -> {
+            final boolean valid = seen[0].getType() == type && seen[1].getType() == type && "error".equals(seen[0].getMessage()) && "error".equals(seen[1].getMessage());
+            return valid && type.getPreallocated() == type.getPreallocated();
+        });
+        assertThat(outcomes, is(Collections.singletonMap("true", (long) ITERATIONS)));
+    }
+
+    @Test
+    public void testFuzzySuggestionIndex() throws Exception {
+        final Suggestions[] seen = new Suggestions[2];
+        final StressHarness<CommandDispatcher<Object>> harness = new StressHarness<>(
+            () -> {
+                final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+                dispatcher.setFuzzySuggestions(true);
+                for (int i = 0; i < 16; i++) {
+                    dispatcher.register(literal("command" + i));
+                }
+                return dispatcher;
+            },
+            dispatcher -> seen[0] = dispatcher.getCompletionSuggestions(dispatcher.parse("cmd1", new Object())).join(),
+            dispatcher -> seen[1] = dispatcher.getCompletionSuggestions(dispatcher.parse("cmd1", new Object())).join()
+        );
+
+        final Map<String, Long> outcomes = harness.run(ITERATIONS, dispatcher -> seen[0].getList().size() + "," + seen[0].equals(seen[1]));
+        assertThat(outcomes, is(Collections.singletonMap("7,true", (long) ITERATIONS)));
+    }
+
+    @Test
+    public void testSlowCommandLogRateLimit() throws Exception {
+        final List<SlowCommandRecord<Object>> records = new CopyOnWriteArrayList<>();
+        final SlowCommandLog.Phase parse = SlowCommandLog.Phase.PARSE;
+        final StressHarness<CommandDispatcher<Object>> harness = new StressHarness<>(
+            () -> {
+                records.clear();
+                final SlowCommandLog<Object> log = new SlowCommandLog<>(records::add);
+                log.setThreshold(parse, 0, TimeUnit.NANOSECONDS);
+                log.setRateLimit(2, 1, TimeUnit.HOURS);
+                final CommandDispatcher<Object> dispatcher = new CommandDispatcher<>();
+                dispatcher.register(literal("foo"));
+                dispatcher.setSlowCommandLog(log);
+                return dispatcher;
+            },
+            dispatcher -> dispatcher.parse("foo", new Object()),
+            dispatcher -> dispatcher.parse("foo", new Object()),
+            dispatcher -> dispatcher.parse("foo", new Object()),
+            dispatcher -> dispatcher.parse("foo", new Object())
+        );
+
+        final Map<String, Long> outcomes = harness.run(ITERATIONS, dispatcher -> records.size());
+        assertThat(outcomes, is(Collections.singletonMap("2", (long) ITERATIONS)));
+    }
+}
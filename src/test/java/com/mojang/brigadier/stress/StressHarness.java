@@ -0,0 +1,96 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.stress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a few actors against fresh shared state many times over, in the style of JCStress, and counts the outcomes.
+ *
+ * <p>Every iteration creates a new state, releases all actors on it at once, waits for them to finish and then asks
+ * the arbiter for the outcome. Tests then check that only acceptable outcomes were seen. Outcomes that depend on
+ * timing are expected to vary between runs; an unacceptable one shows a race, however rarely it's seen.</p>
+ */
+public class StressHarness<T> {
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final Supplier<T> state;
+    private final List<Actor<T>> actors;
+
+    @SafeVarargs
+    public StressHarness(final Supplier<T> state, final Actor<T>... actors) {
+        this.state = state;
+        this.actors = Arrays.asList(actors);
+    }
+
+    /**
+     * Runs all actors for the given number of iterations.
+     *
+     * @param iterations how many fresh states to run the actors against
+     * @param arbiter decides the outcome of an iteration, once every actor finished
+     * @return how many times each outcome was seen, by its string form
+     * @throws AssertionError if an actor threw
+     */
+    public Map<String, Long> run(final int iterations, final Function<T, Object> arbiter) throws Exception {
+        final CyclicBarrier start = new CyclicBarrier(actors.size() + 1);
+        final CyclicBarrier end = new CyclicBarrier(actors.size() + 1);
+        final AtomicReference<T> current = new AtomicReference<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final List<Thread> threads = new ArrayList<>(actors.size());
+        for (final Actor<T> actor : actors) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        start.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                        try {
+                            actor.act(current.get());
+                        } catch (final Throwable t) {
+                            failure.compareAndSet(null, t);
+                        }
+                        end.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    }
+                } catch (final InterruptedException | BrokenBarrierException | TimeoutException ignored) {
+                }
+            }, "stress-actor-" + threads.size());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        final Map<String, Long> outcomes = new TreeMap<>();
+        try {
+            for (int i = 0; i < iterations; i++) {
+                current.set(state.get());
+                start.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                end.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (failure.get() != null) {
+                    throw new AssertionError("Actor failed in iteration " + i, failure.get());
+                }
+                outcomes.merge(String.valueOf(arbiter.apply(current.get())), 1L, Long::sum);
+            }
+        } finally {
+            for (final Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+        return outcomes;
+    }
+
+    @FunctionalInterface
+    public interface Actor<T> {
+        void act(T state) throws Exception;
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.suggestion;
+
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SuggestionCacheTest {
+    private SuggestionCache<Object> cache;
+    private RootCommandNode<Object> root;
+    private Suggestions suggestions;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new SuggestionCache<>(2);
+        root = new RootCommandNode<>();
+        root.addChild(literal("foo").build());
+        suggestions = new Suggestions(StringRange.at(0), Collections.singletonList(new Suggestion(StringRange.at(0), "foo")));
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        cache.put(root, 0, "f", 1, suggestions);
+        assertThat(cache.get(root, 0, "f"), is(sameInstance(suggestions)));
+        assertThat(cache.get(root, 0, "F"), is(nullValue()));
+        assertThat(cache.get(root, 1, "f"), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_differentNode() throws Exception {
+        final LiteralCommandNode<Object> other = literal("foo").build();
+        cache.put(root, 0, "f", 1, suggestions);
+        assertThat(cache.get(other, 0, "f"), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_childAdded() throws Exception {
+        cache.put(root, 0, "f", 1, suggestions);
+        root.addChild(literal("bar").build());
+        assertThat(cache.get(root, 0, "f"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        cache.put(root, 0, "a", 1, suggestions);
+        cache.put(root, 0, "b", 1, suggestions);
+        cache.get(root, 0, "a");
+        cache.put(root, 0, "c", 1, suggestions);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get(root, 0, "a"), is(sameInstance(suggestions)));
+        assertThat(cache.get(root, 0, "b"), is(nullValue()));
+        assertThat(cache.get(root, 0, "c"), is(sameInstance(suggestions)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() throws Exception {
+        new SuggestionCache<>(0);
+    }
+}
@@ -15,6 +15,7 @@ import java.util.stream.Collectors;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class SuggestionsBuilderTest {
@@ -66,6 +67,28 @@ public class SuggestionsBuilderTest {
         assertThat(other.getRemaining(), equalTo(builder.getRemaining()));
     }
 
+    @Test
+    public void restart_sharesRemaining() {
+        final SuggestionsBuilder other = builder.restart();
+        assertThat(other.getRemaining(), is(sameInstance(builder.getRemaining())));
+        assertThat(other.getRemainingLowerCase(), is(sameInstance(builder.getRemainingLowerCase())));
+    }
+
+    @Test
+    public void createOffset() {
+        final SuggestionsBuilder upper = new SuggestionsBuilder("Hello World", 6);
+        final SuggestionsBuilder other = upper.createOffset(0);
+        assertThat(other.getStart(), is(0));
+        assertThat(other.getRemaining(), equalTo("Hello World"));
+        assertThat(other.getRemainingLowerCase(), equalTo("hello world"));
+        assertThat(upper.getRemainingLowerCase(), equalTo("world"));
+    }
+
+    @Test(expected = StringIndexOutOfBoundsException.class)
+    public void createOffset_outOfBounds() {
+        builder.createOffset(8);
+    }
+
     @Test
     public void sort_alphabetical() {
         Suggestions result = builder.suggest("2").suggest("4").suggest("6").suggest("8").suggest("30").suggest("32").build();
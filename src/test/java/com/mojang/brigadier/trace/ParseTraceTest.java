@@ -0,0 +1,113 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.trace;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.tree.CommandNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.arguments.StringArgumentType.word;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class ParseTraceTest {
+    private CommandDispatcher<Object> subject;
+    private CommandNode<Object> foo;
+
+    @Before
+    public void setUp() throws Exception {
+        subject = new CommandDispatcher<>();
+        foo = subject.register(literal("foo")
+            .then(argument("number", integer()).executes(c -> 1))
+            .then(argument("word", word()).executes(c -> 2)));
+        subject.register(literal("bar").redirect(foo));
+    }
+
+    @Test
+    public void testTrace() throws Exception {
+        final ParseTrace<Object> trace = new ParseTrace<>();
+        subject.parse("foo abc", new Object(), trace);
+
+        final ParseTrace.Attempt<Object> root = trace.getRoot();
+        assertThat(root.getNode(), is(subject.getRoot()));
+        assertThat(root.getChildren().size(), is(1));
+        assertThat(root.getPotentials(), is(1));
+
+        final ParseTrace.Attempt<Object> literal = root.getChildren().get(0);
+        assertThat(literal.getNode(), is(foo));
+        assertThat(literal.isSuccess(), is(true));
+        assertThat(literal.getStart(), is(0));
+        assertThat(literal.getEnd(), is(3));
+        assertThat(literal.getChildrenOf(), is(foo));
+        assertThat(literal.getChildren().size(), is(2));
+        assertThat(literal.getFailures(), is(1));
+        assertThat(literal.getPotentials(), is(1));
+
+        final ParseTrace.Attempt<Object> number = literal.getChildren().get(0);
+        assertThat(number.getNode().getName(), is("number"));
+        assertThat(number.isSuccess(), is(false));
+        assertThat(number.getStart(), is(4));
+
+        final ParseTrace.Attempt<Object> word = literal.getChildren().get(1);
+        assertThat(word.isSuccess(), is(true));
+        assertThat(word.getEnd(), is(7));
+        assertThat(word.getChildrenOf(), is((Object) null));
+    }
+
+    @Test
+    public void testTraceRedirect() throws Exception {
+        final ParseTrace<Object> trace = new ParseTrace<>();
+        subject.parse("bar 5", new Object(), trace);
+
+        final ParseTrace.Attempt<Object> literal = trace.getRoot().getChildren().get(0);
+        assertThat(literal.getNode().getName(), is("bar"));
+        assertThat(literal.getChildrenOf(), is(foo));
+        assertThat(literal.getChildren().size(), is(2));
+        assertThat(literal.getFailures(), is(0));
+        assertThat(literal.getPotentials(), is(2));
+    }
+
+    @Test
+    public void testRender() throws Exception {
+        final ParseTrace<Object> trace = new ParseTrace<>();
+        subject.parse("foo abc", new Object(), trace);
+
+        final String[] lines = trace.render().split("\n");
+        assertThat(lines.length, is(4));
+        assertThat(lines[0], startsWith("<root> [0,0), 1 tried, 1 potential in "));
+        assertThat(lines[1], startsWith("  foo [0,3) ok "));
+        assertThat(lines[2], startsWith("    <number> [4,4) failed: Expected integer "));
+        assertThat(lines[3], startsWith("    <word> [4,7) ok "));
+    }
+
+    @Test
+    public void testReport() throws Exception {
+        final ParseTraceReport<Object> report = new ParseTraceReport<>();
+        for (final String input : new String[]{"foo abc", "foo 1", "bar def"}) {
+            final ParseTrace<Object> trace = new ParseTrace<>();
+            subject.parse(input, new Object(), trace);
+            report.add(trace);
+        }
+
+        assertThat(report.getTraces(), is(3L));
+        final List<ParseTraceReport.AmbiguousNode<Object>> nodes = report.getMostExpensive(10);
+        assertThat(nodes.size(), is(1));
+        assertThat(nodes.get(0).getNode(), is(foo));
+        assertThat(nodes.get(0).getOccurrences(), is(3L));
+        assertThat(nodes.get(0).getBranches(), is(6L));
+        assertThat(nodes.get(0).getFailures(), is(2L));
+        assertThat(nodes.get(0).getPotentials(), is(4L));
+        assertThat(report.render(10), startsWith("foo: "));
+
+        report.reset();
+        assertThat(report.getMostExpensive(10).size(), is(0));
+    }
+}
@@ -9,6 +9,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -32,6 +35,32 @@ public abstract class AbstractCommandNodeTest {
         assertThat(node.getChildren(), hasSize(2));
     }
 
+    @Test
+    public void testAddChildren() throws Exception {
+        final CommandNode<Object> node = getCommandNode();
+
+        node.addChild(literal("child1").build());
+        node.addChildren(Arrays.asList(literal("child2").build(), literal("child1").then(literal("grandchild")).build(), literal("child3").build()));
+
+        assertThat(node.getChildren(), hasSize(3));
+        assertThat(node.getChild("child1").getChildren(), hasSize(1));
+    }
+
+    @Test
+    public void testGetChildrenSeesLaterChildren() throws Exception {
+        final CommandNode<Object> node = getCommandNode();
+        final Collection<CommandNode<Object>> children = node.getChildren();
+
+        final CommandNode<Object> child = literal("child").build();
+        node.addChild(child);
+        for (int i = 0; i < 32; i++) {
+            node.addChild(literal("child" + i).build());
+        }
+
+        assertThat(children, hasSize(33));
+        assertThat(children.iterator().next(), is(child));
+    }
+
     @Test
     public void testAddChildMergesGrandchildren() throws Exception {
         final CommandNode<Object> node = getCommandNode();
@@ -0,0 +1,105 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+package com.mojang.brigadier.tree;
+
+import com.google.common.collect.Lists;
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static com.mojang.brigadier.arguments.IntegerArgumentType.integer;
+import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
+import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FuzzySuggestionIndexTest {
+    private RootCommandNode<Object> root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = new RootCommandNode<>();
+        root.addChild(literal("gamemode").build());
+        root.addChild(literal("give").build());
+        root.addChild(literal("setBlock").build());
+        root.addChild(literal("summon").build());
+        root.addChild(argument("number", integer()).build());
+    }
+
+    private static int score(final String text, final String query) {
+        return FuzzySuggestionIndex.score(text, text.toLowerCase(Locale.ROOT), query);
+    }
+
+    @Test
+    public void testScore_noMatch() throws Exception {
+        assertThat(score("gamemode", "mg"), is(FuzzySuggestionIndex.NO_MATCH));
+        assertThat(score("give", "gamemode"), is(FuzzySuggestionIndex.NO_MATCH));
+    }
+
+    @Test
+    public void testScore_prefixBeatsSubsequence() throws Exception {
+        assertThat(score("give", "gi"), greaterThan(score("gamemode", "gm")));
+    }
+
+    @Test
+    public void testScore_longPrefixBeatsSubsequence() throws Exception {
+        final StringBuilder literal = new StringBuilder("a");
+        for (int i = 0; i < 115; i++) {
+            literal.append('x');
+        }
+        assertThat(score(literal.toString(), "a"), greaterThan(score("ba", "a")));
+    }
+
+    @Test
+    public void testScore_lowerCaseChangesLength() throws Exception {
+        assertThat(score("\u0130x", "x"), greaterThan(FuzzySuggestionIndex.NO_MATCH));
+    }
+
+    @Test
+    public void testScore_camelHump() throws Exception {
+        assertThat(score("setBlock", "sb"), greaterThan(score("subscribe", "sb")));
+    }
+
+    @Test
+    public void testOtherNodes() throws Exception {
+        assertThat(root.getFuzzySuggestionIndex().getOtherNodes(), equalTo(Lists.newArrayList(root.getChild("number"))));
+    }
+
+    @Test
+    public void testSuggest() throws Exception {
+        final Suggestions result = root.getFuzzySuggestionIndex().suggest(new SuggestionsBuilder("gm", 0)).build();
+        assertThat(result.getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(0, 2), "gamemode"))));
+    }
+
+    @Test
+    public void testSuggest_ignoresCase() throws Exception {
+        final Suggestions result = root.getFuzzySuggestionIndex().suggest(new SuggestionsBuilder("SB", 0)).build();
+        assertThat(result.getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(0, 2), "setBlock"))));
+    }
+
+    @Test
+    public void testIndexRebuiltOnNewChild() throws Exception {
+        final FuzzySuggestionIndex<Object> before = root.getFuzzySuggestionIndex();
+        root.addChild(literal("gamerule").build());
+
+        final Suggestions result = root.getFuzzySuggestionIndex().suggest(new SuggestionsBuilder("gmr", 0)).build();
+        assertThat(root.getFuzzySuggestionIndex() == before, is(false));
+        assertThat(result.getList(), equalTo(Lists.newArrayList(new Suggestion(StringRange.between(0, 3), "gamerule"))));
+    }
+
+    @Test
+    public void testRank() throws Exception {
+        final StringRange range = StringRange.between(0, 1);
+        final Suggestions suggestions = new Suggestions(range, Lists.newArrayList(new Suggestion(range, "agent"), new Suggestion(range, "give"), new Suggestion(range, "grab")));
+        final Suggestions result = FuzzySuggestionIndex.rank(suggestions, "g");
+        assertThat(result.getList(), equalTo(Lists.newArrayList(new Suggestion(range, "give"), new Suggestion(range, "grab"), new Suggestion(range, "agent"))));
+    }
+}